@@ -1,7 +1,9 @@
 package com.bgsoftware.superiorskyblock.api;
 
+import com.bgsoftware.superiorskyblock.api.events.AsyncEventBus;
 import com.bgsoftware.superiorskyblock.api.handlers.BlockValuesManager;
 import com.bgsoftware.superiorskyblock.api.handlers.CommandsManager;
+import com.bgsoftware.superiorskyblock.api.handlers.DataManager;
 import com.bgsoftware.superiorskyblock.api.handlers.GridManager;
 import com.bgsoftware.superiorskyblock.api.handlers.KeysManager;
 import com.bgsoftware.superiorskyblock.api.handlers.MenusManager;
@@ -11,6 +13,8 @@ import com.bgsoftware.superiorskyblock.api.handlers.ProvidersManager;
 import com.bgsoftware.superiorskyblock.api.handlers.SchematicManager;
 import com.bgsoftware.superiorskyblock.api.handlers.UpgradesManager;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface SuperiorSkyblock {
 
     /**
@@ -63,4 +67,24 @@ public interface SuperiorSkyblock {
      */
     CommandsManager getCommands();
 
+    /**
+     * Get the data manager of the core.
+     */
+    DataManager getData();
+
+    /**
+     * Get the event bus for asynchronous island notifications.
+     * Non-cancellable island events (such as IslandWorthCalculatedEvent and IslandSchematicPasteEvent)
+     * are posted to the bus in addition to being called as Bukkit events.
+     * Cancellable island events (such as IslandCreateEvent) are posted after they were called, if they were not cancelled.
+     */
+    AsyncEventBus getAsyncEventBus();
+
+    /**
+     * Get a future that is completed when all the islands and players are loaded.
+     * The grid and the players manager should not be used before that.
+     * If the data was already loaded, the returned future is already completed.
+     */
+    CompletableFuture<Void> whenLoaded();
+
 }
@@ -65,6 +65,9 @@ public interface SuperiorCommand {
 
     /**
      * Get the tab-complete arguments of the command.
+     * For completing player, island or warp names, it's recommended to use the prefix lookups of
+     * PlayersManager.getPlayerNames, GridManager.getIslandNames and Island.getAllWarps(String, int)
+     * instead of iterating over all the players or islands.
      * @param plugin The instance of the plugin.
      * @param sender The sender who ran the command.
      * @param args The arguments of the command.
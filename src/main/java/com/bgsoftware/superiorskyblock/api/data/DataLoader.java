@@ -0,0 +1,107 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Loads all the records of a storage in parallel.
+ * The records are read from the storage sequentially, deserialized on a fork-join pool, and then
+ * all the indexes are built concurrently. The result is only published after all the indexes are built.
+ */
+public final class DataLoader {
+
+    private DataLoader(){
+
+    }
+
+    /**
+     * Load all the records of a storage.
+     * @param dataStore The storage to load the records from.
+     * @param deserializer The function that creates an object from a record.
+     *                     Records that the function returns null for are skipped.
+     * @param pool The pool that will run the deserialization and the index builders.
+     * @param indexBuilders Consumers that build indexes from the loaded objects. They run concurrently,
+     *                      therefore they should not depend on each other.
+     * @return A future that is completed with all the loaded objects after all the indexes were built.
+     */
+    public static <T> CompletableFuture<List<T>> loadAll(DataStore dataStore, BiFunction<UUID, byte[], T> deserializer,
+                                                         ForkJoinPool pool, List<Consumer<List<T>>> indexBuilders){
+        return CompletableFuture.supplyAsync(() -> {
+            List<Record> records = new ArrayList<>();
+
+            try {
+                dataStore.loadAll((uuid, data) -> records.add(new Record(uuid, data)));
+            }catch(Exception ex){
+                throw new IllegalStateException("Couldn't read the records from the storage.", ex);
+            }
+
+            return records;
+        }, pool).thenApplyAsync(records -> pool.invoke(new DeserializeTask<>(records, deserializer)), pool)
+                .thenCompose(objects -> {
+                    List<T> loadedObjects = Collections.unmodifiableList(objects);
+
+                    CompletableFuture<?>[] indexFutures = indexBuilders.stream()
+                            .map(indexBuilder -> CompletableFuture.runAsync(() -> indexBuilder.accept(loadedObjects), pool))
+                            .toArray(CompletableFuture[]::new);
+
+                    return CompletableFuture.allOf(indexFutures).thenApply(v -> loadedObjects);
+                });
+    }
+
+    private static final class Record {
+
+        private final UUID uuid;
+        private final byte[] data;
+
+        Record(UUID uuid, byte[] data){
+            this.uuid = uuid;
+            this.data = data;
+        }
+
+    }
+
+    private static final class DeserializeTask<T> extends RecursiveTask<List<T>> {
+
+        private static final long serialVersionUID = 1L;
+        private static final int THRESHOLD = 256;
+
+        private final List<Record> records;
+        private final BiFunction<UUID, byte[], T> deserializer;
+
+        DeserializeTask(List<Record> records, BiFunction<UUID, byte[], T> deserializer){
+            this.records = records;
+            this.deserializer = deserializer;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if(records.size() <= THRESHOLD){
+                return records.stream()
+                        .map(record -> deserializer.apply(record.uuid, record.data))
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+            }
+
+            int middle = records.size() / 2;
+            DeserializeTask<T> left = new DeserializeTask<>(records.subList(0, middle), deserializer);
+            DeserializeTask<T> right = new DeserializeTask<>(records.subList(middle, records.size()), deserializer);
+
+            left.fork();
+            List<T> result = new ArrayList<>(right.compute());
+            result.addAll(0, left.join());
+
+            return result;
+        }
+
+    }
+
+}
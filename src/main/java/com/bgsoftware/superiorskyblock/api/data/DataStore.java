@@ -0,0 +1,45 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * A storage for serialized records, identified by uuids.
+ * The format of the records is decided by the caller - the storage only persists the raw bytes.
+ */
+public interface DataStore {
+
+    /**
+     * Load all the records from the storage.
+     * @param consumer The consumer that will be called for every record.
+     */
+    void loadAll(BiConsumer<UUID, byte[]> consumer) throws IOException;
+
+    /**
+     * Load a single record from the storage.
+     * @param uuid The uuid of the record.
+     * @return The data of the record. May be null.
+     */
+    byte[] load(UUID uuid) throws IOException;
+
+    /**
+     * Insert or update a batch of records.
+     * The batch should be persisted as a whole before the method returns.
+     * @param records The records to save.
+     */
+    void saveAll(Map<UUID, byte[]> records) throws IOException;
+
+    /**
+     * Delete a record from the storage.
+     * @param uuid The uuid of the record.
+     */
+    void delete(UUID uuid) throws IOException;
+
+    /**
+     * Close the storage and release all of its resources.
+     */
+    void close() throws IOException;
+
+}
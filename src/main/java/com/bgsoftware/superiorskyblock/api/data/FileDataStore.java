@@ -0,0 +1,477 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import com.google.common.base.Preconditions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * An embedded storage that keeps the records inside append-only log segments.
+ * Every save appends the new records to the active segment, and an index of the latest
+ * position of every record is kept in memory. Records that were overridden or deleted are
+ * removed from the files when the storage is compacted, see compact()
+ *
+ * Every entry is checksummed, so entries that were partially written (because of a crash)
+ * are detected and discarded when the storage is opened. Only the tail of the newest segment
+ * can be partially written - corrupted entries in older segments are skipped and reported.
+ *
+ * The storage never compacts itself, as compaction rewrites all the records.
+ * The owner of the storage must call compactIfNeeded() from a background task.
+ */
+public final class FileDataStore implements IslandDataStore, PlayerDataStore {
+
+    private static final Logger logger = Logger.getLogger(FileDataStore.class.getName());
+
+    private static final byte ENTRY_PUT = 1, ENTRY_DELETE = 2;
+    // type (1) + uuid (16) + length (4) + checksum (4)
+    private static final int HEADER_SIZE = 25;
+    private static final String SEGMENT_PREFIX = "segment-", SEGMENT_SUFFIX = ".log", COMPACTION_SUFFIX = ".compact";
+    private static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+    private static final long MIN_COMPACTION_SIZE = 1024 * 1024;
+
+    private final File directory;
+    private final long maxSegmentSize;
+    private final TreeMap<Long, FileChannel> segments = new TreeMap<>();
+    private Map<UUID, RecordPosition> index = new HashMap<>();
+
+    private long activeSegmentId = 0;
+    private long totalBytes = 0, liveBytes = 0;
+    private boolean closed = false;
+
+    /**
+     * Open a storage with the default segment size (64MB).
+     * @param directory The directory of the segment files. Created if doesn't exist.
+     */
+    public FileDataStore(File directory) throws IOException{
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Open a storage.
+     * @param directory The directory of the segment files. Created if doesn't exist.
+     * @param maxSegmentSize The size (in bytes) that a segment can reach before a new one is created.
+     */
+    public FileDataStore(File directory, long maxSegmentSize) throws IOException{
+        Preconditions.checkArgument(maxSegmentSize > HEADER_SIZE, "Segment size is too small.");
+        this.directory = directory;
+        this.maxSegmentSize = maxSegmentSize;
+
+        if(!directory.exists() && !directory.mkdirs())
+            throw new IOException("Couldn't create the directory " + directory);
+
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX));
+
+        if(files != null) {
+            for (File file : files) {
+                String name = file.getName();
+
+                // Segments of a compaction that didn't finish are incomplete, and the old segments are still there.
+                if(name.endsWith(COMPACTION_SUFFIX)){
+                    Files.deleteIfExists(file.toPath());
+                    continue;
+                }
+
+                if(!name.endsWith(SEGMENT_SUFFIX))
+                    continue;
+
+                long segmentId;
+
+                try{
+                    segmentId = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                }catch(NumberFormatException ex){
+                    continue;
+                }
+
+                if(segmentId >= 0)
+                    segments.put(segmentId, openSegment(segmentId));
+            }
+        }
+
+        for(Map.Entry<Long, FileChannel> segment : segments.entrySet())
+            replaySegment(segment.getKey(), segment.getValue(), segment.getKey() == segments.lastKey().longValue());
+
+        if(segments.isEmpty()) {
+            segments.put(0L, openSegment(0));
+            syncDirectory();
+        }
+
+        activeSegmentId = segments.lastKey();
+    }
+
+    @Override
+    public synchronized void loadAll(BiConsumer<UUID, byte[]> consumer) throws IOException {
+        checkOpen();
+
+        // Records are read ordered by their position in the files, so the reads are sequential.
+        List<Map.Entry<UUID, RecordPosition>> records = new ArrayList<>(index.entrySet());
+        records.sort((o1, o2) -> o1.getValue().compareTo(o2.getValue()));
+
+        for(Map.Entry<UUID, RecordPosition> record : records)
+            consumer.accept(record.getKey(), readRecord(record.getValue()));
+    }
+
+    @Override
+    public synchronized byte[] load(UUID uuid) throws IOException {
+        checkOpen();
+        RecordPosition position = index.get(uuid);
+        return position == null ? null : readRecord(position);
+    }
+
+    @Override
+    public synchronized void saveAll(Map<UUID, byte[]> records) throws IOException {
+        checkOpen();
+
+        if(records.isEmpty())
+            return;
+
+        for(Map.Entry<UUID, byte[]> record : records.entrySet())
+            appendEntry(ENTRY_PUT, record.getKey(), record.getValue());
+
+        segments.get(activeSegmentId).force(false);
+    }
+
+    @Override
+    public synchronized void delete(UUID uuid) throws IOException {
+        checkOpen();
+
+        if(!index.containsKey(uuid))
+            return;
+
+        appendEntry(ENTRY_DELETE, uuid, new byte[0]);
+        segments.get(activeSegmentId).force(false);
+    }
+
+    /**
+     * Check whether or not most of the stored bytes are dead, and the storage should be compacted.
+     */
+    public synchronized boolean needsCompaction(){
+        return totalBytes >= MIN_COMPACTION_SIZE && totalBytes - liveBytes > liveBytes;
+    }
+
+    /**
+     * Compact the storage if needsCompaction() returns true.
+     * Should be called periodically from a background task, as nothing else compacts the storage.
+     * @return Whether or not the storage was compacted.
+     */
+    public synchronized boolean compactIfNeeded() throws IOException {
+        if(!needsCompaction())
+            return false;
+
+        compact();
+        return true;
+    }
+
+    /**
+     * Rewrite all the live records into new segments, and delete the old segments.
+     * Compaction rewrites the entire storage, so it's never done while saving - it should be done
+     * from a background task, see compactIfNeeded()
+     * The storage keeps using the old segments until the new ones are fully written, so a failed
+     * compaction leaves the storage unchanged.
+     */
+    public synchronized void compact() throws IOException {
+        checkOpen();
+
+        List<Long> oldSegments = new ArrayList<>(segments.keySet());
+        List<Map.Entry<UUID, RecordPosition>> records = new ArrayList<>(index.entrySet());
+        records.sort((o1, o2) -> o1.getValue().compareTo(o2.getValue()));
+
+        Map<UUID, RecordPosition> newIndex = new HashMap<>();
+        TreeMap<Long, File> newSegments = new TreeMap<>();
+        long newBytes = 0;
+
+        long segmentId = activeSegmentId + 1, segmentSize = 0;
+        FileChannel segment = null;
+
+        try {
+            for (Map.Entry<UUID, RecordPosition> record : records) {
+                byte[] data = readRecord(record.getValue());
+
+                if (segment == null || (segmentSize > 0 && segmentSize + HEADER_SIZE + data.length > maxSegmentSize)) {
+                    if (segment != null) {
+                        closeCompactedSegment(segment);
+                        segmentId++;
+                    }
+
+                    File file = getCompactionFile(segmentId);
+                    newSegments.put(segmentId, file);
+                    segment = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                    segmentSize = 0;
+                }
+
+                writeEntry(segment, segmentSize, ENTRY_PUT, record.getKey(), data);
+                newIndex.put(record.getKey(), new RecordPosition(segmentId, segmentSize, data.length));
+                segmentSize += HEADER_SIZE + data.length;
+                newBytes += HEADER_SIZE + data.length;
+            }
+
+            if (segment != null) {
+                closeCompactedSegment(segment);
+                segment = null;
+            }
+            else {
+                // There are no live records, but an active segment is still needed.
+                File file = getCompactionFile(segmentId);
+                newSegments.put(segmentId, file);
+                FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE).close();
+            }
+
+            // The new segments are renamed from the oldest one, so a crash in the middle only leaves duplicates
+            // of live records in the newer segments, which override the same records in the old segments.
+            for (Map.Entry<Long, File> newSegment : newSegments.entrySet()) {
+                Files.move(newSegment.getValue().toPath(), getSegmentFile(newSegment.getKey()).toPath(),
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            syncDirectory();
+        } catch (IOException | RuntimeException ex) {
+            if (segment != null)
+                segment.close();
+
+            for (Map.Entry<Long, File> newSegment : newSegments.entrySet()) {
+                Files.deleteIfExists(newSegment.getValue().toPath());
+                Files.deleteIfExists(getSegmentFile(newSegment.getKey()).toPath());
+            }
+
+            throw ex;
+        }
+
+        for (long newSegmentId : newSegments.keySet())
+            segments.put(newSegmentId, openSegment(newSegmentId));
+
+        index = newIndex;
+        totalBytes = newBytes;
+        liveBytes = newBytes;
+        activeSegmentId = newSegments.lastKey();
+
+        // Old segments are deleted from the oldest one, so a crash in the middle never brings back deleted records.
+        for(long oldSegmentId : oldSegments){
+            segments.remove(oldSegmentId).close();
+            if(!getSegmentFile(oldSegmentId).delete())
+                throw new IOException("Couldn't delete the segment " + oldSegmentId);
+        }
+
+        syncDirectory();
+    }
+
+    /**
+     * Get the amount of records in the storage.
+     */
+    public synchronized int size(){
+        return index.size();
+    }
+
+    /**
+     * Get the total size (in bytes) of the segment files.
+     */
+    public synchronized long getTotalBytes(){
+        return totalBytes;
+    }
+
+    /**
+     * Get the size (in bytes) of the entries of the live records.
+     */
+    public synchronized long getLiveBytes(){
+        return liveBytes;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if(closed)
+            return;
+
+        closed = true;
+
+        for(FileChannel segment : segments.values())
+            segment.close();
+
+        segments.clear();
+        index.clear();
+    }
+
+    private void replaySegment(long segmentId, FileChannel segment, boolean newestSegment) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        long position = 0, size = segment.size();
+
+        while(position + HEADER_SIZE <= size){
+            header.clear();
+            readFully(segment, header, position);
+            header.flip();
+
+            byte type = header.get();
+            UUID uuid = new UUID(header.getLong(), header.getLong());
+            int length = header.getInt();
+            int checksum = header.getInt();
+
+            if((type != ENTRY_PUT && type != ENTRY_DELETE) || length < 0 || position + HEADER_SIZE + length > size)
+                break;
+
+            ByteBuffer data = ByteBuffer.allocate(length);
+            readFully(segment, data, position + HEADER_SIZE);
+
+            if(checksum != calculateChecksum(type, uuid, data.array())) {
+                // Only the newest segment is written to, so a bad entry is the partially written tail.
+                if(newestSegment)
+                    break;
+
+                logger.warning("Skipping a corrupted entry at " + position + " of the segment " + segmentId);
+            }
+            else {
+                applyEntry(type, uuid, new RecordPosition(segmentId, position, length));
+            }
+
+            position += HEADER_SIZE + length;
+        }
+
+        if(position < size){
+            if(newestSegment) {
+                // Anything after the last valid entry was partially written, and is discarded.
+                segment.truncate(position);
+            }
+            else {
+                // The rest of the segment cannot be read, but it's kept in case it can be recovered manually.
+                logger.warning("Couldn't read " + (size - position) + " bytes at the end of the segment " + segmentId);
+                position = size;
+            }
+        }
+
+        totalBytes += position;
+    }
+
+    private void appendEntry(byte type, UUID uuid, byte[] data) throws IOException {
+        FileChannel segment = segments.get(activeSegmentId);
+
+        if(segment.size() > 0 && segment.size() + HEADER_SIZE + data.length > maxSegmentSize) {
+            segment.force(false);
+            rollSegment();
+            segment = segments.get(activeSegmentId);
+        }
+
+        long position = segment.size();
+
+        writeEntry(segment, position, type, uuid, data);
+
+        totalBytes += HEADER_SIZE + data.length;
+        applyEntry(type, uuid, new RecordPosition(activeSegmentId, position, data.length));
+    }
+
+    private void applyEntry(byte type, UUID uuid, RecordPosition position){
+        RecordPosition oldPosition = type == ENTRY_PUT ? index.put(uuid, position) : index.remove(uuid);
+
+        if(oldPosition != null)
+            liveBytes -= HEADER_SIZE + oldPosition.length;
+
+        if(type == ENTRY_PUT)
+            liveBytes += HEADER_SIZE + position.length;
+    }
+
+    private byte[] readRecord(RecordPosition position) throws IOException {
+        ByteBuffer data = ByteBuffer.allocate(position.length);
+        readFully(segments.get(position.segmentId), data, position.offset + HEADER_SIZE);
+        return data.array();
+    }
+
+    private void rollSegment() throws IOException {
+        activeSegmentId++;
+        segments.put(activeSegmentId, openSegment(activeSegmentId));
+        syncDirectory();
+    }
+
+    private void syncDirectory(){
+        // Makes sure that created, renamed and deleted segments survive a crash.
+        try(FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)){
+            channel.force(true);
+        }catch(IOException ex){
+            // Not supported on some platforms (Windows), where the changes are synced by the file system.
+            logger.log(Level.FINE, "Couldn't sync the directory " + directory, ex);
+        }
+    }
+
+    private FileChannel openSegment(long segmentId) throws IOException {
+        return FileChannel.open(getSegmentFile(segmentId).toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private File getSegmentFile(long segmentId){
+        return new File(directory, SEGMENT_PREFIX + String.format("%016d", segmentId) + SEGMENT_SUFFIX);
+    }
+
+    private File getCompactionFile(long segmentId){
+        return new File(directory, SEGMENT_PREFIX + String.format("%016d", segmentId) + COMPACTION_SUFFIX);
+    }
+
+    private static void closeCompactedSegment(FileChannel segment) throws IOException {
+        segment.force(true);
+        segment.close();
+    }
+
+    private static void writeEntry(FileChannel segment, long position, byte type, UUID uuid, byte[] data) throws IOException {
+        ByteBuffer entry = ByteBuffer.allocate(HEADER_SIZE + data.length);
+        entry.put(type);
+        entry.putLong(uuid.getMostSignificantBits());
+        entry.putLong(uuid.getLeastSignificantBits());
+        entry.putInt(data.length);
+        entry.putInt(calculateChecksum(type, uuid, data));
+        entry.put(data);
+        entry.flip();
+
+        while(entry.hasRemaining())
+            segment.write(entry, position + entry.position());
+    }
+
+    private void checkOpen(){
+        Preconditions.checkState(!closed, "The storage is closed.");
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while(buffer.hasRemaining()){
+            if(channel.read(buffer, position + buffer.position()) < 0)
+                throw new IOException("Unexpected end of segment.");
+        }
+    }
+
+    private static int calculateChecksum(byte type, UUID uuid, byte[] data){
+        CRC32 crc32 = new CRC32();
+        ByteBuffer header = ByteBuffer.allocate(17);
+        header.put(type);
+        header.putLong(uuid.getMostSignificantBits());
+        header.putLong(uuid.getLeastSignificantBits());
+        crc32.update(header.array(), 0, header.capacity());
+        crc32.update(data, 0, data.length);
+        return (int) crc32.getValue();
+    }
+
+    private static final class RecordPosition implements Comparable<RecordPosition> {
+
+        private final long segmentId, offset;
+        private final int length;
+
+        RecordPosition(long segmentId, long offset, int length){
+            this.segmentId = segmentId;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int compareTo(RecordPosition other) {
+            int compare = Long.compare(segmentId, other.segmentId);
+            return compare != 0 ? compare : Long.compare(offset, other.offset);
+        }
+
+    }
+
+}
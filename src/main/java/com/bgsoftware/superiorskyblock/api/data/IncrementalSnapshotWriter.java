@@ -0,0 +1,471 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import com.bgsoftware.superiorskyblock.api.island.Island;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Writes incremental snapshots of the grid.
+ * Every snapshot is a segment file that only contains the records that their modification epoch has changed
+ * since the previous snapshot, and the records that were removed since then.
+ * The segment ends with a checksummed index of its records, and it's only moved into place after it was
+ * fully written - so a crash in the middle of a snapshot never damages the previous snapshots.
+ *
+ * Any snapshot can be restored by applying all the segments up to it, starting from the last full snapshot.
+ * Segments that are damaged are skipped when the directory is opened, and the snapshots that depend on them
+ * cannot be restored. The next snapshot after a damaged segment is always a full snapshot.
+ */
+public final class IncrementalSnapshotWriter {
+
+    private static final Logger logger = Logger.getLogger(IncrementalSnapshotWriter.class.getName());
+
+    private static final int MAGIC = 0x47534E50;
+    private static final byte VERSION = 1;
+    // magic (4) + version (1) + full flag (1) + snapshot id (8)
+    private static final int HEADER_SIZE = 14;
+    // index offset (8) + index checksum (4) + data checksum (4) + magic (4)
+    private static final int FOOTER_SIZE = 20;
+    // uuid (16) + epoch (8) + offset (8) + length (4)
+    private static final int INDEX_ENTRY_SIZE = 36;
+    private static final String SEGMENT_PREFIX = "snapshot-", SEGMENT_SUFFIX = ".dat", TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final TreeMap<Long, SegmentInfo> segments = new TreeMap<>();
+    private final TreeSet<Long> damagedSnapshots = new TreeSet<>();
+    private final Map<UUID, Long> writtenEpochs = new HashMap<>();
+
+    private long nextSnapshotId;
+    private boolean requiresFullSnapshot;
+
+    /**
+     * Open the snapshots directory.
+     * The existing segments are validated, and the epochs of their records are loaded.
+     * Damaged segments are skipped and logged, see getDamagedSnapshots().
+     * @param directory The directory of the snapshots. Created if doesn't exist.
+     */
+    public IncrementalSnapshotWriter(File directory) throws IOException {
+        this.directory = directory;
+
+        if(!directory.exists() && !directory.mkdirs())
+            throw new IOException("Couldn't create the directory " + directory);
+
+        File[] files = directory.listFiles();
+        long lastSnapshotId = -1;
+
+        if(files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    // Leftover of a snapshot that was interrupted.
+                    Files.deleteIfExists(file.toPath());
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    long snapshotId;
+
+                    try{
+                        snapshotId = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    }catch(NumberFormatException ex){
+                        continue;
+                    }
+
+                    lastSnapshotId = Math.max(lastSnapshotId, snapshotId);
+
+                    try{
+                        segments.put(snapshotId, readSegment(file, snapshotId));
+                    }catch(IOException ex){
+                        logger.log(Level.WARNING, "Skipping the damaged snapshot " + snapshotId, ex);
+                        damagedSnapshots.add(snapshotId);
+                    }
+                }
+            }
+        }
+
+        nextSnapshotId = lastSnapshotId + 1;
+
+        Long lastFullSnapshotId = null;
+
+        for(SegmentInfo segmentInfo : segments.values()) {
+            segmentInfo.applyEpochs(writtenEpochs);
+            if(segmentInfo.full)
+                lastFullSnapshotId = segmentInfo.snapshotId;
+        }
+
+        // The changes of a damaged segment are lost, so the written epochs cannot be trusted after it.
+        requiresFullSnapshot = !damagedSnapshots.isEmpty() &&
+                (lastFullSnapshotId == null || damagedSnapshots.last() > lastFullSnapshotId);
+    }
+
+    /**
+     * Write a snapshot of islands.
+     * Only islands that their modification epoch has changed since the last snapshot are written.
+     * @param islands All the islands of the grid.
+     * @return The id of the new snapshot.
+     */
+    public long snapshotIslands(Collection<Island> islands) throws IOException {
+        Map<UUID, Island> islandsByOwner = new HashMap<>();
+        Map<UUID, Long> epochs = new HashMap<>();
+
+        for(Island island : islands){
+            UUID owner = island.getOwner().getUniqueId();
+            islandsByOwner.put(owner, island);
+            epochs.put(owner, island.getModificationEpoch());
+        }
+
+        return snapshot(epochs, owner -> IslandSnapshot.of(islandsByOwner.get(owner)).serialize(), false);
+    }
+
+    /**
+     * Write a snapshot of records.
+     * @param epochs The current modification epochs of all the records.
+     *               Records that were written before and are missing from this map are marked as removed.
+     * @param serializer The function that serializes a record. Only called for records that are written.
+     * @param full Whether or not all the records should be written, regardless of their epochs.
+     *             Full snapshots allow removing all the snapshots that were taken before them.
+     * @return The id of the new snapshot.
+     */
+    public synchronized long snapshot(Map<UUID, Long> epochs, Function<UUID, byte[]> serializer, boolean full) throws IOException {
+        long snapshotId = nextSnapshotId;
+        full |= segments.isEmpty() || requiresFullSnapshot;
+
+        List<UUID> changedRecords = new ArrayList<>();
+        List<UUID> removedRecords = new ArrayList<>();
+
+        for(Map.Entry<UUID, Long> entry : epochs.entrySet()){
+            Long writtenEpoch = writtenEpochs.get(entry.getKey());
+            if(full || writtenEpoch == null || writtenEpoch.longValue() != entry.getValue())
+                changedRecords.add(entry.getKey());
+        }
+
+        if(!full) {
+            for (UUID uuid : writtenEpochs.keySet()) {
+                if (!epochs.containsKey(uuid))
+                    removedRecords.add(uuid);
+            }
+        }
+
+        long indexSize = 8 + (long) changedRecords.size() * INDEX_ENTRY_SIZE + (long) removedRecords.size() * 16;
+
+        if(indexSize > Integer.MAX_VALUE)
+            throw new IOException("The index of the snapshot is too large (" + indexSize + " bytes).");
+
+        File segmentFile = getSegmentFile(snapshotId);
+        File tempFile = new File(directory, segmentFile.getName() + TEMP_SUFFIX);
+
+        // The segment is written through the channel rather than mapped, as mapped files cannot be moved or
+        // deleted on some platforms (Windows) until the mapping is garbage collected.
+        try(FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)){
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC);
+            header.put(VERSION);
+            header.put((byte) (full ? 1 : 0));
+            header.putLong(snapshotId);
+            header.flip();
+            writeFully(channel, header);
+
+            CRC32 dataChecksum = new CRC32();
+            ByteBuffer index = ByteBuffer.allocate((int) indexSize);
+
+            index.putInt(changedRecords.size());
+            for(UUID uuid : changedRecords){
+                byte[] data = serializer.apply(uuid);
+
+                index.putLong(uuid.getMostSignificantBits());
+                index.putLong(uuid.getLeastSignificantBits());
+                index.putLong(epochs.get(uuid));
+                index.putLong(channel.position());
+                index.putInt(data.length);
+
+                writeFully(channel, ByteBuffer.wrap(data));
+                dataChecksum.update(data, 0, data.length);
+            }
+
+            index.putInt(removedRecords.size());
+            for(UUID uuid : removedRecords){
+                index.putLong(uuid.getMostSignificantBits());
+                index.putLong(uuid.getLeastSignificantBits());
+            }
+
+            long indexOffset = channel.position();
+
+            CRC32 indexChecksum = new CRC32();
+            indexChecksum.update(index.array(), 0, index.position());
+            index.flip();
+            writeFully(channel, index);
+
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+            footer.putLong(indexOffset);
+            footer.putInt((int) indexChecksum.getValue());
+            footer.putInt((int) dataChecksum.getValue());
+            footer.putInt(MAGIC);
+            footer.flip();
+            writeFully(channel, footer);
+
+            channel.force(true);
+        }catch(IOException | RuntimeException ex){
+            Files.deleteIfExists(tempFile.toPath());
+            throw ex;
+        }
+
+        Files.move(tempFile.toPath(), segmentFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+
+        SegmentInfo segmentInfo = readSegment(segmentFile, snapshotId);
+        segments.put(snapshotId, segmentInfo);
+        nextSnapshotId = snapshotId + 1;
+        requiresFullSnapshot = false;
+
+        segmentInfo.applyEpochs(writtenEpochs);
+
+        return snapshotId;
+    }
+
+    /**
+     * Restore the records as they were at a specific snapshot.
+     * @param snapshotId The id of the snapshot.
+     * @return The data of all the records that existed at that snapshot.
+     * @throws IOException if the snapshot doesn't exist, or one of the needed segments is damaged.
+     */
+    public synchronized Map<UUID, byte[]> restore(long snapshotId) throws IOException {
+        if(damagedSnapshots.contains(snapshotId))
+            throw new IOException("Snapshot " + snapshotId + " is damaged.");
+
+        if(!segments.containsKey(snapshotId))
+            throw new IOException("Snapshot " + snapshotId + " doesn't exist.");
+
+        long baseSnapshotId = snapshotId;
+        while(!segments.get(baseSnapshotId).full){
+            Long previousSnapshotId = segments.lowerKey(baseSnapshotId);
+            if(previousSnapshotId == null)
+                throw new IOException("Couldn't find a full snapshot before snapshot " + snapshotId + ".");
+            baseSnapshotId = previousSnapshotId;
+        }
+
+        Long damagedSnapshotId = damagedSnapshots.ceiling(baseSnapshotId);
+        if(damagedSnapshotId != null && damagedSnapshotId < snapshotId)
+            throw new IOException("Snapshot " + snapshotId + " depends on the damaged snapshot " + damagedSnapshotId + ".");
+
+        Map<UUID, byte[]> records = new HashMap<>();
+
+        for(SegmentInfo segmentInfo : segments.subMap(baseSnapshotId, true, snapshotId, true).values()){
+            try(FileChannel channel = FileChannel.open(getSegmentFile(segmentInfo.snapshotId).toPath(), StandardOpenOption.READ)){
+                for(IndexEntry indexEntry : segmentInfo.entries){
+                    ByteBuffer data = ByteBuffer.allocate(indexEntry.length);
+                    readFully(channel, data, indexEntry.offset);
+                    records.put(indexEntry.uuid, data.array());
+                }
+            }
+
+            for(UUID uuid : segmentInfo.removedRecords)
+                records.remove(uuid);
+        }
+
+        return records;
+    }
+
+    /**
+     * Get the ids of all the snapshots, in ascending order.
+     * Damaged snapshots are not included.
+     */
+    public synchronized List<Long> getSnapshots(){
+        return new ArrayList<>(segments.keySet());
+    }
+
+    /**
+     * Get the ids of the snapshots that were found damaged when the directory was opened, in ascending order.
+     * Their files are kept for inspection until they are removed by removeSnapshotsBefore(long).
+     */
+    public synchronized List<Long> getDamagedSnapshots(){
+        return new ArrayList<>(damagedSnapshots);
+    }
+
+    /**
+     * Remove all the snapshots that were taken before the last full snapshot that is not newer than the given one.
+     * The given snapshot and all the snapshots after it can still be restored.
+     * @param snapshotId The id of the oldest snapshot that should be kept restorable.
+     * @return The amount of snapshots that were removed, including damaged ones.
+     */
+    public synchronized int removeSnapshotsBefore(long snapshotId) throws IOException {
+        Long baseSnapshotId = null;
+
+        for(SegmentInfo segmentInfo : segments.headMap(snapshotId, true).values()){
+            if(segmentInfo.full)
+                baseSnapshotId = segmentInfo.snapshotId;
+        }
+
+        if(baseSnapshotId == null)
+            return 0;
+
+        List<Long> removedSnapshots = new ArrayList<>(segments.headMap(baseSnapshotId, false).keySet());
+        removedSnapshots.addAll(damagedSnapshots.headSet(baseSnapshotId, false));
+
+        for(long removedSnapshotId : removedSnapshots){
+            Files.deleteIfExists(getSegmentFile(removedSnapshotId).toPath());
+            segments.remove(removedSnapshotId);
+            damagedSnapshots.remove(removedSnapshotId);
+        }
+
+        syncDirectory();
+
+        return removedSnapshots.size();
+    }
+
+    private File getSegmentFile(long snapshotId){
+        return new File(directory, SEGMENT_PREFIX + String.format("%016d", snapshotId) + SEGMENT_SUFFIX);
+    }
+
+    private void syncDirectory(){
+        // Makes sure that created and deleted segments survive a crash.
+        try(FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)){
+            channel.force(true);
+        }catch(IOException ex){
+            // Not all the platforms support syncing directories.
+            logger.log(Level.FINE, "Couldn't sync the directory " + directory, ex);
+        }
+    }
+
+    private static SegmentInfo readSegment(File file, long expectedSnapshotId) throws IOException {
+        try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)){
+            long fileSize = channel.size();
+
+            if(fileSize < HEADER_SIZE + FOOTER_SIZE)
+                throw new IOException("Invalid snapshot size " + fileSize + " for " + file.getName() + ".");
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            header.flip();
+
+            if(header.getInt() != MAGIC || header.get() > VERSION)
+                throw new IOException("Invalid snapshot header for " + file.getName() + ".");
+
+            boolean full = header.get() == 1;
+            long snapshotId = header.getLong();
+
+            if(snapshotId != expectedSnapshotId)
+                throw new IOException("Invalid snapshot id " + snapshotId + " for " + file.getName() + ".");
+
+            long footerOffset = fileSize - FOOTER_SIZE;
+
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_SIZE);
+            readFully(channel, footer, footerOffset);
+            footer.flip();
+
+            long indexOffset = footer.getLong();
+            int indexChecksum = footer.getInt();
+            int dataChecksum = footer.getInt();
+
+            if(footer.getInt() != MAGIC || indexOffset < HEADER_SIZE || indexOffset > footerOffset ||
+                    footerOffset - indexOffset > Integer.MAX_VALUE)
+                throw new IOException("Invalid snapshot footer for " + file.getName() + ".");
+
+            ByteBuffer index = ByteBuffer.allocate((int) (footerOffset - indexOffset));
+            readFully(channel, index, indexOffset);
+
+            CRC32 crc32 = new CRC32();
+            crc32.update(index.array(), 0, index.capacity());
+
+            if((int) crc32.getValue() != indexChecksum || calculateChecksum(channel, HEADER_SIZE, indexOffset) != dataChecksum)
+                throw new IOException("Checksum mismatch for " + file.getName() + ".");
+
+            index.flip();
+
+            List<IndexEntry> entries = new ArrayList<>();
+            for(int i = index.getInt(); i > 0; i--) {
+                entries.add(new IndexEntry(new UUID(index.getLong(), index.getLong()), index.getLong(),
+                        index.getLong(), index.getInt()));
+            }
+
+            List<UUID> removedRecords = new ArrayList<>();
+            for(int i = index.getInt(); i > 0; i--)
+                removedRecords.add(new UUID(index.getLong(), index.getLong()));
+
+            return new SegmentInfo(snapshotId, full, entries, removedRecords);
+        }
+    }
+
+    private static int calculateChecksum(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(8192);
+        CRC32 crc32 = new CRC32();
+
+        for(long position = from; position < to; position += chunk.limit()){
+            chunk.clear();
+            chunk.limit((int) Math.min(chunk.capacity(), to - position));
+            readFully(channel, chunk, position);
+            crc32.update(chunk.array(), 0, chunk.limit());
+        }
+
+        return (int) crc32.getValue();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while(buffer.hasRemaining()){
+            if(channel.read(buffer, position + buffer.position()) == -1)
+                throw new EOFException("Unexpected end of the snapshot at " + (position + buffer.position()) + ".");
+        }
+    }
+
+    private static final class SegmentInfo {
+
+        private final long snapshotId;
+        private final boolean full;
+        private final List<IndexEntry> entries;
+        private final List<UUID> removedRecords;
+
+        SegmentInfo(long snapshotId, boolean full, List<IndexEntry> entries, List<UUID> removedRecords){
+            this.snapshotId = snapshotId;
+            this.full = full;
+            this.entries = entries;
+            this.removedRecords = removedRecords;
+        }
+
+        void applyEpochs(Map<UUID, Long> epochs){
+            if(full)
+                epochs.clear();
+
+            for(IndexEntry indexEntry : entries)
+                epochs.put(indexEntry.uuid, indexEntry.epoch);
+
+            for(UUID uuid : removedRecords)
+                epochs.remove(uuid);
+        }
+
+    }
+
+    private static final class IndexEntry {
+
+        private final UUID uuid;
+        private final long epoch, offset;
+        private final int length;
+
+        IndexEntry(UUID uuid, long epoch, long offset, int length){
+            this.uuid = uuid;
+            this.epoch = epoch;
+            this.offset = offset;
+            this.length = length;
+        }
+
+    }
+
+}
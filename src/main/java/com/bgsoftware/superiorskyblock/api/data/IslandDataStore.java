@@ -0,0 +1,9 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+/**
+ * A storage for the data of islands.
+ * Records are identified by the uuid of the island owners.
+ */
+public interface IslandDataStore extends DataStore {
+
+}
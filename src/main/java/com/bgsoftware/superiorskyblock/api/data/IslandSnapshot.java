@@ -0,0 +1,872 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import com.bgsoftware.superiorskyblock.api.SuperiorSkyblockAPI;
+import com.bgsoftware.superiorskyblock.api.enums.Rating;
+import com.bgsoftware.superiorskyblock.api.generator.GeneratorRates;
+import com.bgsoftware.superiorskyblock.api.island.Island;
+import com.bgsoftware.superiorskyblock.api.island.IslandFlag;
+import com.bgsoftware.superiorskyblock.api.island.IslandPrivilege;
+import com.bgsoftware.superiorskyblock.api.island.PlayerRole;
+import com.bgsoftware.superiorskyblock.api.key.Key;
+import com.bgsoftware.superiorskyblock.api.missions.MissionsCompletion;
+import com.bgsoftware.superiorskyblock.api.upgrades.Upgrade;
+import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * An immutable copy of the data of an island, which can be serialized into the binary snapshot format.
+ * Used for backups, for keeping idle islands in a compact form and for transferring islands between servers.
+ *
+ * Custom permissions are stored only for the members and coop players of the island, as the API cannot list
+ * other players that have custom permissions. The creation time of the island is not stored, as it's not
+ * exposed by the API.
+ */
+public final class IslandSnapshot {
+
+    private static final int MAGIC = 0x49;
+    private static final int VERSION = 1;
+
+    private UUID owner;
+    private String name, description, schematicName, biome, discord, paypal;
+    private BigDecimal worth, level, bonusWorth, bonusLevel, bank;
+    private double totalRating, cropGrowth, spawnerRates, mobDrops;
+    private int islandSize, teamLimit, warpsLimit;
+    private boolean locked, ignored, netherEnabled, endEnabled;
+    private long lastTimeUpdate;
+    private StoredLocation visitorsLocation;
+
+    private final Map<UUID, Integer> members = new LinkedHashMap<>();
+    private final List<UUID> bannedPlayers = new ArrayList<>();
+    // Key doesn't implement hashCode, therefore keys are stored by their string form.
+    private final Map<String, Integer> blockCounts = new HashMap<>();
+    private final Map<String, Integer> blockLimits = new HashMap<>();
+    private final Map<String, Integer> entityLimits = new HashMap<>();
+    private final Map<World.Environment, Map<String, Integer>> generatorAmounts = new EnumMap<>(World.Environment.class);
+    private final Map<World.Environment, StoredLocation> centers = new EnumMap<>(World.Environment.class);
+    private final Map<World.Environment, StoredLocation> teleportLocations = new EnumMap<>(World.Environment.class);
+    private final Map<String, Integer> upgrades = new HashMap<>();
+    private final Map<String, Warp> warps = new HashMap<>();
+    private final Map<UUID, Rating> ratings = new HashMap<>();
+    private final Map<String, Integer> completedMissions = new HashMap<>();
+    private final Map<Integer, List<String>> rolePermissions = new HashMap<>();
+    private final Map<UUID, List<String>> playerPermissions = new LinkedHashMap<>();
+    private final List<String> enabledFlags = new ArrayList<>();
+
+    private IslandSnapshot(){
+
+    }
+
+    /**
+     * Create a snapshot of an island.
+     * @param island The island to copy.
+     */
+    public static IslandSnapshot of(Island island){
+        IslandSnapshot snapshot = new IslandSnapshot();
+
+        snapshot.owner = island.getOwner().getUniqueId();
+        snapshot.name = island.getName();
+        snapshot.description = island.getDescription();
+        snapshot.schematicName = island.getSchematicName();
+        snapshot.biome = island.getBiome() == null ? null : island.getBiome().name();
+        snapshot.discord = island.getDiscord();
+        snapshot.paypal = island.getPaypal();
+        snapshot.worth = island.getWorth();
+        snapshot.level = island.getIslandLevel();
+        snapshot.bonusWorth = island.getBonusWorth();
+        snapshot.bonusLevel = island.getBonusLevel();
+        snapshot.bank = island.getMoneyInBank();
+        snapshot.totalRating = island.getTotalRating();
+        snapshot.cropGrowth = island.getCropGrowthMultiplier();
+        snapshot.spawnerRates = island.getSpawnerRatesMultiplier();
+        snapshot.mobDrops = island.getMobDropsMultiplier();
+        snapshot.islandSize = island.getIslandSize();
+        snapshot.teamLimit = island.getTeamLimit();
+        snapshot.warpsLimit = island.getWarpsLimit();
+        snapshot.locked = island.isLocked();
+        snapshot.ignored = island.isIgnored();
+        snapshot.netherEnabled = island.isNetherEnabled();
+        snapshot.endEnabled = island.isEndEnabled();
+        snapshot.lastTimeUpdate = island.getLastTimeUpdate();
+        snapshot.visitorsLocation = StoredLocation.of(island.getVisitorsLocation());
+
+        for(World.Environment environment : World.Environment.values()){
+            // The worlds of disabled environments may not exist.
+            if((environment == World.Environment.NETHER && !snapshot.netherEnabled) ||
+                    (environment == World.Environment.THE_END && !snapshot.endEnabled))
+                continue;
+
+            StoredLocation center = StoredLocation.of(island.getCenter(environment));
+            if(center != null)
+                snapshot.centers.put(environment, center);
+
+            StoredLocation teleportLocation = StoredLocation.of(island.getTeleportLocation(environment));
+            if(teleportLocation != null)
+                snapshot.teleportLocations.put(environment, teleportLocation);
+        }
+
+        for(SuperiorPlayer member : island.getIslandMembers(false))
+            snapshot.members.put(member.getUniqueId(), member.getPlayerRole().getId());
+
+        for(SuperiorPlayer bannedPlayer : island.getBannedPlayers())
+            snapshot.bannedPlayers.add(bannedPlayer.getUniqueId());
+
+        for(Map.Entry<Key, Integer> entry : island.getBlockCounts().entrySet())
+            snapshot.blockCounts.put(entry.getKey().toString(), entry.getValue());
+
+        for(Map.Entry<Key, Integer> entry : island.getBlocksLimits().entrySet())
+            snapshot.blockLimits.put(entry.getKey().toString(), entry.getValue());
+
+        for(Map.Entry<EntityType, Integer> entry : island.getEntitiesLimits().entrySet())
+            snapshot.entityLimits.put(entry.getKey().name(), entry.getValue());
+
+        for(World.Environment environment : World.Environment.values()){
+            GeneratorRates generatorRates = island.getGeneratorRates(environment);
+            if(generatorRates.size() == 0)
+                continue;
+
+            Map<String, Integer> amounts = new LinkedHashMap<>();
+            for(int i = 0; i < generatorRates.size(); i++)
+                amounts.put(generatorRates.getKey(i).toString(), generatorRates.getAmount(i));
+            snapshot.generatorAmounts.put(environment, amounts);
+        }
+
+        for(Upgrade upgrade : SuperiorSkyblockAPI.getUpgrades().getUpgrades())
+            snapshot.upgrades.put(upgrade.getName(), island.getUpgradeLevel(upgrade).getLevel());
+
+        for(String warpName : island.getAllWarps()) {
+            StoredLocation location = StoredLocation.of(island.getWarpLocation(warpName));
+            if(location != null)
+                snapshot.warps.put(warpName, new Warp(location, island.isWarpPrivate(warpName)));
+        }
+
+        snapshot.ratings.putAll(island.getRatings());
+
+        MissionsCompletion missionsCompletion = island.getMissionsCompletion();
+        missionsCompletion.forEachCompleted(mission ->
+                snapshot.completedMissions.put(mission.getName(), missionsCompletion.getAmount(mission)));
+
+        for(PlayerRole playerRole : SuperiorSkyblockAPI.getPlayers().getRoles()){
+            List<String> privileges = new ArrayList<>();
+            for(IslandPrivilege islandPrivilege : IslandPrivilege.values()){
+                if(island.hasPermission(playerRole, islandPrivilege))
+                    privileges.add(islandPrivilege.getName());
+            }
+            snapshot.rolePermissions.put(playerRole.getId(), privileges);
+        }
+
+        List<SuperiorPlayer> permissionHolders = new ArrayList<>(island.getIslandMembers(false));
+        permissionHolders.addAll(island.getCoopPlayers());
+        for(SuperiorPlayer superiorPlayer : permissionHolders){
+            List<String> privileges = new ArrayList<>();
+            for(IslandPrivilege islandPrivilege : IslandPrivilege.values()){
+                if(island.hasPermission(superiorPlayer, islandPrivilege))
+                    privileges.add(islandPrivilege.getName());
+            }
+            snapshot.playerPermissions.put(superiorPlayer.getUniqueId(), privileges);
+        }
+
+        for(IslandFlag islandFlag : IslandFlag.values()){
+            if(island.hasSettingsEnabled(islandFlag))
+                snapshot.enabledFlags.add(islandFlag.getName());
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Read a snapshot from its binary form.
+     * @param data The serialized snapshot.
+     * @throws IOException if the data is malformed, or was written by a newer version.
+     */
+    public static IslandSnapshot deserialize(byte[] data) throws IOException {
+        SnapshotInput input = new SnapshotInput(data);
+
+        if(input.readByte() != MAGIC)
+            throw new IOException("The data is not an island snapshot.");
+
+        int version = input.readVarInt();
+
+        if(version > VERSION)
+            throw new IOException("Unsupported snapshot version " + version + ".");
+
+        IslandSnapshot snapshot = new IslandSnapshot();
+
+        snapshot.owner = input.readUUID();
+        if(snapshot.owner == null)
+            throw new IOException("The snapshot has no island owner.");
+        snapshot.name = input.readString();
+        snapshot.description = input.readString();
+        snapshot.schematicName = input.readString();
+        snapshot.biome = input.readString();
+        snapshot.discord = input.readString();
+        snapshot.paypal = input.readString();
+        snapshot.worth = input.readBigDecimal();
+        snapshot.level = input.readBigDecimal();
+        snapshot.bonusWorth = input.readBigDecimal();
+        snapshot.bonusLevel = input.readBigDecimal();
+        snapshot.bank = input.readBigDecimal();
+        snapshot.totalRating = input.readDouble();
+        snapshot.cropGrowth = input.readDouble();
+        snapshot.spawnerRates = input.readDouble();
+        snapshot.mobDrops = input.readDouble();
+        snapshot.islandSize = input.readVarInt();
+        snapshot.teamLimit = (int) input.readVarLong();
+        snapshot.warpsLimit = (int) input.readVarLong();
+        snapshot.locked = input.readBoolean();
+        snapshot.ignored = input.readBoolean();
+        snapshot.netherEnabled = input.readBoolean();
+        snapshot.endEnabled = input.readBoolean();
+        snapshot.lastTimeUpdate = input.readVarLong();
+        snapshot.visitorsLocation = readLocation(input);
+        readLocationsMap(input, snapshot.centers);
+        readLocationsMap(input, snapshot.teleportLocations);
+
+        for(int i = input.readVarInt(); i > 0; i--)
+            snapshot.members.put(input.readUUID(), input.readVarInt());
+
+        for(int i = input.readVarInt(); i > 0; i--)
+            snapshot.bannedPlayers.add(input.readUUID());
+
+        readNamesMap(input, snapshot.blockCounts);
+        readNamesMap(input, snapshot.blockLimits);
+        readNamesMap(input, snapshot.entityLimits);
+
+        for(int i = input.readVarInt(); i > 0; i--){
+            Map<String, Integer> amounts = new LinkedHashMap<>();
+            World.Environment environment = readEnvironment(input);
+            readNamesMap(input, amounts);
+            snapshot.generatorAmounts.put(environment, amounts);
+        }
+
+        readNamesMap(input, snapshot.upgrades);
+
+        for(int i = input.readVarInt(); i > 0; i--) {
+            String warpName = input.readString();
+            if(warpName == null)
+                throw new IOException("Malformed warp.");
+            StoredLocation location = readLocation(input);
+            if(location == null)
+                throw new IOException("Malformed warp.");
+            snapshot.warps.put(warpName, new Warp(location, input.readBoolean()));
+        }
+
+        Rating[] ratings = Rating.values();
+        for(int i = input.readVarInt(); i > 0; i--) {
+            UUID uuid = input.readUUID();
+            int rating = input.readVarInt();
+            if(rating < 0 || rating >= ratings.length)
+                throw new IOException("Unknown rating " + rating + ".");
+            snapshot.ratings.put(uuid, ratings[rating]);
+        }
+
+        readNamesMap(input, snapshot.completedMissions);
+
+        for(int i = input.readVarInt(); i > 0; i--){
+            int roleId = input.readVarInt();
+            List<String> privileges = new ArrayList<>();
+            for(int j = input.readVarInt(); j > 0; j--)
+                privileges.add(input.readInternedString());
+            snapshot.rolePermissions.put(roleId, privileges);
+        }
+
+        for(int i = input.readVarInt(); i > 0; i--){
+            UUID uuid = input.readUUID();
+            if(uuid == null)
+                throw new IOException("Malformed player permissions.");
+            List<String> privileges = new ArrayList<>();
+            for(int j = input.readVarInt(); j > 0; j--)
+                privileges.add(input.readInternedString());
+            snapshot.playerPermissions.put(uuid, privileges);
+        }
+
+        for(int i = input.readVarInt(); i > 0; i--)
+            snapshot.enabledFlags.add(input.readInternedString());
+
+        return snapshot;
+    }
+
+    /**
+     * Write the snapshot in its binary form.
+     */
+    public byte[] serialize(){
+        SnapshotOutput output = new SnapshotOutput();
+
+        output.writeByte(MAGIC);
+        output.writeVarInt(VERSION);
+
+        output.writeUUID(owner);
+        output.writeString(name);
+        output.writeString(description);
+        output.writeString(schematicName);
+        output.writeString(biome);
+        output.writeString(discord);
+        output.writeString(paypal);
+        output.writeBigDecimal(worth);
+        output.writeBigDecimal(level);
+        output.writeBigDecimal(bonusWorth);
+        output.writeBigDecimal(bonusLevel);
+        output.writeBigDecimal(bank);
+        output.writeDouble(totalRating);
+        output.writeDouble(cropGrowth);
+        output.writeDouble(spawnerRates);
+        output.writeDouble(mobDrops);
+        output.writeVarInt(islandSize);
+        output.writeVarLong(teamLimit);
+        output.writeVarLong(warpsLimit);
+        output.writeBoolean(locked);
+        output.writeBoolean(ignored);
+        output.writeBoolean(netherEnabled);
+        output.writeBoolean(endEnabled);
+        output.writeVarLong(lastTimeUpdate);
+        writeLocation(output, visitorsLocation);
+        writeLocationsMap(output, centers);
+        writeLocationsMap(output, teleportLocations);
+
+        output.writeVarInt(members.size());
+        for(Map.Entry<UUID, Integer> entry : members.entrySet()){
+            output.writeUUID(entry.getKey());
+            output.writeVarInt(entry.getValue());
+        }
+
+        output.writeVarInt(bannedPlayers.size());
+        for(UUID bannedPlayer : bannedPlayers)
+            output.writeUUID(bannedPlayer);
+
+        writeNamesMap(output, blockCounts);
+        writeNamesMap(output, blockLimits);
+        writeNamesMap(output, entityLimits);
+
+        output.writeVarInt(generatorAmounts.size());
+        for(Map.Entry<World.Environment, Map<String, Integer>> entry : generatorAmounts.entrySet()){
+            output.writeVarInt(entry.getKey().ordinal());
+            writeNamesMap(output, entry.getValue());
+        }
+
+        writeNamesMap(output, upgrades);
+
+        output.writeVarInt(warps.size());
+        for(Map.Entry<String, Warp> entry : warps.entrySet()){
+            output.writeString(entry.getKey());
+            writeLocation(output, entry.getValue().location);
+            output.writeBoolean(entry.getValue().privateFlag);
+        }
+
+        output.writeVarInt(ratings.size());
+        for(Map.Entry<UUID, Rating> entry : ratings.entrySet()){
+            output.writeUUID(entry.getKey());
+            output.writeVarInt(entry.getValue().getValue());
+        }
+
+        writeNamesMap(output, completedMissions);
+
+        output.writeVarInt(rolePermissions.size());
+        for(Map.Entry<Integer, List<String>> entry : rolePermissions.entrySet()){
+            output.writeVarInt(entry.getKey());
+            output.writeVarInt(entry.getValue().size());
+            for(String privilege : entry.getValue())
+                output.writeInternedString(privilege);
+        }
+
+        output.writeVarInt(playerPermissions.size());
+        for(Map.Entry<UUID, List<String>> entry : playerPermissions.entrySet()){
+            output.writeUUID(entry.getKey());
+            output.writeVarInt(entry.getValue().size());
+            for(String privilege : entry.getValue())
+                output.writeInternedString(privilege);
+        }
+
+        output.writeVarInt(enabledFlags.size());
+        for(String islandFlag : enabledFlags)
+            output.writeInternedString(islandFlag);
+
+        return output.toByteArray();
+    }
+
+    /**
+     * Get the uuid of the owner of the island.
+     */
+    public UUID getOwner() {
+        return owner;
+    }
+
+    /**
+     * Get the name of the island.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the description of the island.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Get the schematic that was used to create the island.
+     */
+    public String getSchematicName() {
+        return schematicName;
+    }
+
+    /**
+     * Get the name of the biome of the island. May be null.
+     */
+    public String getBiome() {
+        return biome;
+    }
+
+    /**
+     * Get the discord of the island.
+     */
+    public String getDiscord() {
+        return discord;
+    }
+
+    /**
+     * Get the paypal of the island.
+     */
+    public String getPaypal() {
+        return paypal;
+    }
+
+    /**
+     * Get the worth of the island.
+     */
+    public BigDecimal getWorth() {
+        return worth;
+    }
+
+    /**
+     * Get the level of the island.
+     */
+    public BigDecimal getLevel() {
+        return level;
+    }
+
+    /**
+     * Get the bonus worth of the island.
+     */
+    public BigDecimal getBonusWorth() {
+        return bonusWorth;
+    }
+
+    /**
+     * Get the bonus level of the island.
+     */
+    public BigDecimal getBonusLevel() {
+        return bonusLevel;
+    }
+
+    /**
+     * Get the money in the bank of the island.
+     */
+    public BigDecimal getBank() {
+        return bank;
+    }
+
+    /**
+     * Get the total rating of the island.
+     */
+    public double getTotalRating() {
+        return totalRating;
+    }
+
+    /**
+     * Get the crop growth multiplier of the island.
+     */
+    public double getCropGrowthMultiplier() {
+        return cropGrowth;
+    }
+
+    /**
+     * Get the spawner rates multiplier of the island.
+     */
+    public double getSpawnerRatesMultiplier() {
+        return spawnerRates;
+    }
+
+    /**
+     * Get the mob drops multiplier of the island.
+     */
+    public double getMobDropsMultiplier() {
+        return mobDrops;
+    }
+
+    /**
+     * Get the size of the island.
+     */
+    public int getIslandSize() {
+        return islandSize;
+    }
+
+    /**
+     * Get the team limit of the island.
+     */
+    public int getTeamLimit() {
+        return teamLimit;
+    }
+
+    /**
+     * Get the warps limit of the island.
+     */
+    public int getWarpsLimit() {
+        return warpsLimit;
+    }
+
+    /**
+     * Check whether or not the island is locked.
+     */
+    public boolean isLocked() {
+        return locked;
+    }
+
+    /**
+     * Check whether or not the island is ignored in the top lists.
+     */
+    public boolean isIgnored() {
+        return ignored;
+    }
+
+    /**
+     * Check whether or not the nether is enabled for the island.
+     */
+    public boolean isNetherEnabled() {
+        return netherEnabled;
+    }
+
+    /**
+     * Check whether or not the end is enabled for the island.
+     */
+    public boolean isEndEnabled() {
+        return endEnabled;
+    }
+
+    /**
+     * Get the last time the island was updated.
+     */
+    public long getLastTimeUpdate() {
+        return lastTimeUpdate;
+    }
+
+    /**
+     * Get the visitors' teleport location of the island. May be null.
+     */
+    public StoredLocation getVisitorsLocation() {
+        return visitorsLocation;
+    }
+
+    /**
+     * Get the center of the island in an environment.
+     * @param environment The environment of the center.
+     * @return The center, or null if the environment is disabled for the island.
+     */
+    public StoredLocation getCenter(World.Environment environment) {
+        return centers.get(environment);
+    }
+
+    /**
+     * Get the members' teleport location of the island in an environment.
+     * @param environment The environment of the teleport location.
+     * @return The teleport location, or null if there is no teleport location for that environment.
+     */
+    public StoredLocation getTeleportLocation(World.Environment environment) {
+        return teleportLocations.get(environment);
+    }
+
+    /**
+     * Get the members of the island (without the owner), with the ids of their roles.
+     */
+    public Map<UUID, Integer> getMembers() {
+        return Collections.unmodifiableMap(members);
+    }
+
+    /**
+     * Get the banned players of the island.
+     */
+    public List<UUID> getBannedPlayers() {
+        return Collections.unmodifiableList(bannedPlayers);
+    }
+
+    /**
+     * Get the block counts of the island, by the string form of their keys.
+     */
+    public Map<String, Integer> getBlockCounts() {
+        return Collections.unmodifiableMap(blockCounts);
+    }
+
+    /**
+     * Get the block count of a key.
+     * @param key The key to check.
+     */
+    public int getBlockCount(Key key) {
+        return blockCounts.getOrDefault(key.toString(), 0);
+    }
+
+    /**
+     * Get the block limits of the island, by the string form of their keys.
+     */
+    public Map<String, Integer> getBlockLimits() {
+        return Collections.unmodifiableMap(blockLimits);
+    }
+
+    /**
+     * Get the block limit of a key.
+     * @param key The key to check.
+     * @return The limit of the key, or -1 if the key has no limit.
+     */
+    public int getBlockLimit(Key key) {
+        return blockLimits.getOrDefault(key.toString(), -1);
+    }
+
+    /**
+     * Get the entity limits of the island, by the names of the entity types.
+     */
+    public Map<String, Integer> getEntityLimits() {
+        return Collections.unmodifiableMap(entityLimits);
+    }
+
+    /**
+     * Get the generator amounts of the island in an environment, by the string form of their keys.
+     * @param environment The environment of the generator.
+     */
+    public Map<String, Integer> getGeneratorAmounts(World.Environment environment) {
+        Map<String, Integer> amounts = generatorAmounts.get(environment);
+        return amounts == null ? Collections.emptyMap() : Collections.unmodifiableMap(amounts);
+    }
+
+    /**
+     * Get the upgrade levels of the island, by the names of the upgrades.
+     */
+    public Map<String, Integer> getUpgrades() {
+        return Collections.unmodifiableMap(upgrades);
+    }
+
+    /**
+     * Get the warps of the island, by their names.
+     */
+    public Map<String, Warp> getWarps() {
+        return Collections.unmodifiableMap(warps);
+    }
+
+    /**
+     * Get the ratings of the island.
+     */
+    public Map<UUID, Rating> getRatings() {
+        return Collections.unmodifiableMap(ratings);
+    }
+
+    /**
+     * Get the completed missions of the island, with the amount of times they were completed.
+     */
+    public Map<String, Integer> getCompletedMissions() {
+        return Collections.unmodifiableMap(completedMissions);
+    }
+
+    /**
+     * Get the privileges that every role has, by the ids of the roles.
+     */
+    public Map<Integer, List<String>> getRolePermissions() {
+        return Collections.unmodifiableMap(rolePermissions);
+    }
+
+    /**
+     * Get the privileges that the members and coop players of the island have, by their uuids.
+     */
+    public Map<UUID, List<String>> getPlayerPermissions() {
+        return Collections.unmodifiableMap(playerPermissions);
+    }
+
+    /**
+     * Get the names of the island flags that are enabled for the island.
+     */
+    public List<String> getEnabledFlags() {
+        return Collections.unmodifiableList(enabledFlags);
+    }
+
+    private static void writeNamesMap(SnapshotOutput output, Map<String, Integer> map){
+        output.writeVarInt(map.size());
+        for(Map.Entry<String, Integer> entry : map.entrySet()){
+            output.writeInternedString(entry.getKey());
+            output.writeVarLong(entry.getValue());
+        }
+    }
+
+    private static void readNamesMap(SnapshotInput input, Map<String, Integer> map) throws IOException {
+        for(int i = input.readVarInt(); i > 0; i--)
+            map.put(input.readInternedString(), (int) input.readVarLong());
+    }
+
+    private static void writeLocation(SnapshotOutput output, StoredLocation location){
+        output.writeInternedString(location == null ? null : location.worldName);
+        if(location != null){
+            output.writeDouble(location.x);
+            output.writeDouble(location.y);
+            output.writeDouble(location.z);
+            output.writeDouble(location.yaw);
+            output.writeDouble(location.pitch);
+        }
+    }
+
+    private static StoredLocation readLocation(SnapshotInput input) throws IOException {
+        String worldName = input.readInternedString();
+        return worldName == null ? null : new StoredLocation(worldName, input.readDouble(), input.readDouble(),
+                input.readDouble(), (float) input.readDouble(), (float) input.readDouble());
+    }
+
+    private static void writeLocationsMap(SnapshotOutput output, Map<World.Environment, StoredLocation> map){
+        output.writeVarInt(map.size());
+        for(Map.Entry<World.Environment, StoredLocation> entry : map.entrySet()){
+            output.writeVarInt(entry.getKey().ordinal());
+            writeLocation(output, entry.getValue());
+        }
+    }
+
+    private static void readLocationsMap(SnapshotInput input, Map<World.Environment, StoredLocation> map) throws IOException {
+        for(int i = input.readVarInt(); i > 0; i--){
+            World.Environment environment = readEnvironment(input);
+            StoredLocation location = readLocation(input);
+            if(location == null)
+                throw new IOException("Malformed location.");
+            map.put(environment, location);
+        }
+    }
+
+    private static World.Environment readEnvironment(SnapshotInput input) throws IOException {
+        World.Environment[] environments = World.Environment.values();
+        int environment = input.readVarInt();
+        if(environment < 0 || environment >= environments.length)
+            throw new IOException("Unknown environment " + environment + ".");
+        return environments[environment];
+    }
+
+    /**
+     * A location that is stored by the name of its world.
+     */
+    public static final class StoredLocation {
+
+        private final String worldName;
+        private final double x, y, z;
+        private final float yaw, pitch;
+
+        private StoredLocation(String worldName, double x, double y, double z, float yaw, float pitch){
+            this.worldName = worldName;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.yaw = yaw;
+            this.pitch = pitch;
+        }
+
+        private static StoredLocation of(Location location){
+            // Locations in worlds that are not loaded cannot be stored, as their world is unknown.
+            return location == null || location.getWorld() == null ? null : new StoredLocation(location.getWorld().getName(),
+                    location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
+        }
+
+        /**
+         * Get the name of the world of the location.
+         */
+        public String getWorldName() {
+            return worldName;
+        }
+
+        /**
+         * Get the x coordinate of the location.
+         */
+        public double getX() {
+            return x;
+        }
+
+        /**
+         * Get the y coordinate of the location.
+         */
+        public double getY() {
+            return y;
+        }
+
+        /**
+         * Get the z coordinate of the location.
+         */
+        public double getZ() {
+            return z;
+        }
+
+        /**
+         * Get the yaw of the location.
+         */
+        public float getYaw() {
+            return yaw;
+        }
+
+        /**
+         * Get the pitch of the location.
+         */
+        public float getPitch() {
+            return pitch;
+        }
+
+        /**
+         * Get the location.
+         * @return The location. null if the world of the location is not loaded.
+         */
+        public Location getLocation() {
+            World world = Bukkit.getWorld(worldName);
+            return world == null ? null : new Location(world, x, y, z, yaw, pitch);
+        }
+
+    }
+
+    /**
+     * A warp of an island, stored by the name of its world.
+     */
+    public static final class Warp {
+
+        private final StoredLocation location;
+        private final boolean privateFlag;
+
+        private Warp(StoredLocation location, boolean privateFlag){
+            this.location = location;
+            this.privateFlag = privateFlag;
+        }
+
+        /**
+         * Get the name of the world of the warp.
+         */
+        public String getWorldName() {
+            return location.getWorldName();
+        }
+
+        /**
+         * Check whether or not the warp is private.
+         */
+        public boolean isPrivate() {
+            return privateFlag;
+        }
+
+        /**
+         * Get the location of the warp.
+         * @return The location of the warp. null if the world of the warp is not loaded.
+         */
+        public Location getLocation() {
+            return location.getLocation();
+        }
+
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+/**
+ * A storage for the data of players.
+ * Records are identified by the uuid of the players.
+ */
+public interface PlayerDataStore extends DataStore {
+
+}
@@ -0,0 +1,239 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import com.bgsoftware.superiorskyblock.api.enums.BorderColor;
+import com.bgsoftware.superiorskyblock.api.missions.MissionsCompletion;
+import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * An immutable copy of the data of a player, which can be serialized into the binary snapshot format.
+ */
+public final class PlayerSnapshot {
+
+    private static final int MAGIC = 0x50;
+    private static final int VERSION = 1;
+
+    private UUID uuid, islandLeader;
+    private String name, textureValue, locale;
+    private int roleId, disbands;
+    private BorderColor borderColor;
+    private boolean worldBorder, blocksStacker, toggledPanel, islandFly;
+    private long lastTimeStatus;
+
+    private final Map<String, Integer> completedMissions = new HashMap<>();
+
+    private PlayerSnapshot(){
+
+    }
+
+    /**
+     * Create a snapshot of a player.
+     * @param superiorPlayer The player to copy.
+     */
+    public static PlayerSnapshot of(SuperiorPlayer superiorPlayer){
+        PlayerSnapshot snapshot = new PlayerSnapshot();
+
+        snapshot.uuid = superiorPlayer.getUniqueId();
+        snapshot.islandLeader = superiorPlayer.getIslandLeader().getUniqueId();
+        snapshot.name = superiorPlayer.getName();
+        snapshot.textureValue = superiorPlayer.getTextureValue();
+        snapshot.locale = superiorPlayer.getUserLocale() == null ? null : superiorPlayer.getUserLocale().toString();
+        snapshot.roleId = superiorPlayer.getPlayerRole().getId();
+        snapshot.disbands = superiorPlayer.getDisbands();
+        snapshot.borderColor = superiorPlayer.getBorderColor();
+        snapshot.worldBorder = superiorPlayer.hasWorldBorderEnabled();
+        snapshot.blocksStacker = superiorPlayer.hasBlocksStackerEnabled();
+        snapshot.toggledPanel = superiorPlayer.hasToggledPanel();
+        snapshot.islandFly = superiorPlayer.hasIslandFlyEnabled();
+        snapshot.lastTimeStatus = superiorPlayer.getLastTimeStatus();
+
+        MissionsCompletion missionsCompletion = superiorPlayer.getMissionsCompletion();
+        missionsCompletion.forEachCompleted(mission ->
+                snapshot.completedMissions.put(mission.getName(), missionsCompletion.getAmount(mission)));
+
+        return snapshot;
+    }
+
+    /**
+     * Read a snapshot from its binary form.
+     * @param data The serialized snapshot.
+     * @throws IOException if the data is malformed, or was written by a newer version.
+     */
+    public static PlayerSnapshot deserialize(byte[] data) throws IOException {
+        SnapshotInput input = new SnapshotInput(data);
+
+        if(input.readByte() != MAGIC)
+            throw new IOException("The data is not a player snapshot.");
+
+        int version = input.readVarInt();
+
+        if(version > VERSION)
+            throw new IOException("Unsupported snapshot version " + version + ".");
+
+        PlayerSnapshot snapshot = new PlayerSnapshot();
+
+        snapshot.uuid = input.readUUID();
+        if(snapshot.uuid == null)
+            throw new IOException("The snapshot has no player uuid.");
+        snapshot.islandLeader = input.readUUID();
+        snapshot.name = input.readString();
+        snapshot.textureValue = input.readString();
+        snapshot.locale = input.readString();
+        snapshot.roleId = input.readVarInt();
+        snapshot.disbands = (int) input.readVarLong();
+        String borderColor = input.readString();
+        snapshot.borderColor = borderColor == null ? null : BorderColor.safeValue(borderColor, BorderColor.BLUE);
+        snapshot.worldBorder = input.readBoolean();
+        snapshot.blocksStacker = input.readBoolean();
+        snapshot.toggledPanel = input.readBoolean();
+        snapshot.islandFly = input.readBoolean();
+        snapshot.lastTimeStatus = input.readVarLong();
+
+        for(int i = input.readVarInt(); i > 0; i--)
+            snapshot.completedMissions.put(input.readInternedString(), (int) input.readVarLong());
+
+        return snapshot;
+    }
+
+    /**
+     * Write the snapshot in its binary form.
+     */
+    public byte[] serialize(){
+        SnapshotOutput output = new SnapshotOutput();
+
+        output.writeByte(MAGIC);
+        output.writeVarInt(VERSION);
+
+        output.writeUUID(uuid);
+        output.writeUUID(islandLeader);
+        output.writeString(name);
+        output.writeString(textureValue);
+        output.writeString(locale);
+        output.writeVarInt(roleId);
+        output.writeVarLong(disbands);
+        output.writeString(borderColor == null ? null : borderColor.name());
+        output.writeBoolean(worldBorder);
+        output.writeBoolean(blocksStacker);
+        output.writeBoolean(toggledPanel);
+        output.writeBoolean(islandFly);
+        output.writeVarLong(lastTimeStatus);
+
+        output.writeVarInt(completedMissions.size());
+        for(Map.Entry<String, Integer> entry : completedMissions.entrySet()){
+            output.writeInternedString(entry.getKey());
+            output.writeVarLong(entry.getValue());
+        }
+
+        return output.toByteArray();
+    }
+
+    /**
+     * Get the uuid of the player.
+     */
+    public UUID getUniqueId() {
+        return uuid;
+    }
+
+    /**
+     * Get the uuid of the island owner of the player.
+     */
+    public UUID getIslandLeader() {
+        return islandLeader;
+    }
+
+    /**
+     * Get the last known name of the player.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the last known skin-texture value of the player.
+     */
+    public String getTextureValue() {
+        return textureValue;
+    }
+
+    /**
+     * Get the locale of the player. May be null.
+     */
+    public Locale getUserLocale() {
+        if(locale == null)
+            return null;
+
+        String[] parts = locale.split("_", 3);
+        return parts.length == 1 ? new Locale(parts[0]) : parts.length == 2 ? new Locale(parts[0], parts[1]) :
+                new Locale(parts[0], parts[1], parts[2]);
+    }
+
+    /**
+     * Get the id of the role of the player.
+     */
+    public int getRoleId() {
+        return roleId;
+    }
+
+    /**
+     * Get the amount of left disbands.
+     */
+    public int getDisbands() {
+        return disbands;
+    }
+
+    /**
+     * Get the border color of the player.
+     */
+    public BorderColor getBorderColor() {
+        return borderColor;
+    }
+
+    /**
+     * Check whether or not the world border is enabled for the player.
+     */
+    public boolean hasWorldBorderEnabled() {
+        return worldBorder;
+    }
+
+    /**
+     * Check whether or not the blocks stacker mode is enabled for the player.
+     */
+    public boolean hasBlocksStackerEnabled() {
+        return blocksStacker;
+    }
+
+    /**
+     * Check whether or not the player has their panel toggled.
+     */
+    public boolean hasToggledPanel() {
+        return toggledPanel;
+    }
+
+    /**
+     * Check whether or not the player has flying enabled.
+     */
+    public boolean hasIslandFlyEnabled() {
+        return islandFly;
+    }
+
+    /**
+     * Get the last time player joined or left the server.
+     */
+    public long getLastTimeStatus() {
+        return lastTimeStatus;
+    }
+
+    /**
+     * Get the completed missions of the player, with the amount of times they were completed.
+     */
+    public Map<String, Integer> getCompletedMissions() {
+        return Collections.unmodifiableMap(completedMissions);
+    }
+
+}
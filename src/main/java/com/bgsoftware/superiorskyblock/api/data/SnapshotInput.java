@@ -0,0 +1,171 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import com.bgsoftware.superiorskyblock.api.key.Key;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads values that were written using SnapshotOutput.
+ */
+public final class SnapshotInput {
+
+    private final List<UUID> uuidsDictionary = new ArrayList<>();
+    private final List<String> stringsDictionary = new ArrayList<>();
+    private final byte[] data;
+
+    private int position = 0;
+
+    public SnapshotInput(byte[] data){
+        this.data = data;
+    }
+
+    /**
+     * Read a single byte.
+     */
+    public int readByte() throws IOException {
+        if(position >= data.length)
+            throw new IOException("Unexpected end of snapshot.");
+        return data[position++] & 0xFF;
+    }
+
+    /**
+     * Read a boolean.
+     */
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    /**
+     * Read a varint.
+     */
+    public int readVarInt() throws IOException {
+        int value = 0;
+        for(int shift = 0; shift < 35; shift += 7){
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed varint.");
+    }
+
+    /**
+     * Read a zig-zag encoded varint.
+     */
+    public long readVarLong() throws IOException {
+        long value = 0;
+        for(int shift = 0; shift < 70; shift += 7){
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if((b & 0x80) == 0)
+                return (value >>> 1) ^ -(value & 1);
+        }
+        throw new IOException("Malformed varlong.");
+    }
+
+    /**
+     * Read a long.
+     */
+    public long readLong() throws IOException {
+        long value = 0;
+        for(int i = 0; i < 8; i++)
+            value = (value << 8) | readByte();
+        return value;
+    }
+
+    /**
+     * Read a double.
+     */
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    /**
+     * Read a string. May be null.
+     */
+    public String readString() throws IOException {
+        int length = readVarInt() - 1;
+
+        if(length == -1)
+            return null;
+
+        if(length < 0)
+            throw new IOException("Malformed string length " + length + ".");
+
+        if(length > data.length - position)
+            throw new IOException("Unexpected end of snapshot.");
+
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Read a string that was written using SnapshotOutput.writeInternedString(String)
+     */
+    public String readInternedString() throws IOException {
+        int id = readVarInt();
+
+        if(id != 0)
+            return getDictionaryValue(stringsDictionary, id - 1);
+
+        String value = readString();
+        stringsDictionary.add(value);
+        return value;
+    }
+
+    /**
+     * Read a key.
+     */
+    public Key readKey() throws IOException {
+        return Key.of(readInternedString());
+    }
+
+    /**
+     * Read a uuid. May be null.
+     */
+    public UUID readUUID() throws IOException {
+        int id = readVarInt();
+
+        if(id == 0)
+            return null;
+
+        if(id != 1)
+            return getDictionaryValue(uuidsDictionary, id - 2);
+
+        UUID uuid = new UUID(readLong(), readLong());
+        uuidsDictionary.add(uuid);
+        return uuid;
+    }
+
+    /**
+     * Read a big-decimal.
+     */
+    public BigDecimal readBigDecimal() throws IOException {
+        String value = readString();
+        try {
+            return new BigDecimal(value == null ? "0" : value);
+        }catch(NumberFormatException ex){
+            throw new IOException("Malformed decimal " + value + ".");
+        }
+    }
+
+    /**
+     * Check whether or not there are more bytes to read.
+     */
+    public boolean hasRemaining(){
+        return position < data.length;
+    }
+
+    private static <T> T getDictionaryValue(List<T> dictionary, int id) throws IOException {
+        if(id < 0 || id >= dictionary.size())
+            throw new IOException("Unknown dictionary id " + id + ".");
+        return dictionary.get(id);
+    }
+
+}
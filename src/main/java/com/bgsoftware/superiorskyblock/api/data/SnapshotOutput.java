@@ -0,0 +1,169 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import com.bgsoftware.superiorskyblock.api.key.Key;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes values in the binary snapshot format.
+ * Counts and lengths are written as varints, and every uuid or key is written in full only once per snapshot -
+ * the following occurrences are written as their index in the snapshot's dictionary.
+ */
+public final class SnapshotOutput {
+
+    // A plain buffer instead of a ByteArrayOutputStream, so writing single bytes is not synchronized.
+    private byte[] buffer = new byte[256];
+    private int size = 0;
+    private final Map<UUID, Integer> uuidsDictionary = new HashMap<>();
+    private final Map<String, Integer> stringsDictionary = new HashMap<>();
+
+    /**
+     * Write a single byte.
+     */
+    public void writeByte(int value){
+        write(value);
+    }
+
+    /**
+     * Write a boolean as a single byte.
+     */
+    public void writeBoolean(boolean value){
+        write(value ? 1 : 0);
+    }
+
+    /**
+     * Write a non-negative int as a varint.
+     * Values below 128 take a single byte.
+     */
+    public void writeVarInt(int value){
+        while((value & ~0x7F) != 0){
+            write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        write(value);
+    }
+
+    /**
+     * Write a long as a zig-zag encoded varint, so small negative values take a few bytes as well.
+     */
+    public void writeVarLong(long value){
+        value = (value << 1) ^ (value >> 63);
+        while((value & ~0x7FL) != 0){
+            write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        write((int) value);
+    }
+
+    /**
+     * Write a long in its full 8-bytes form.
+     */
+    public void writeLong(long value){
+        for(int shift = 56; shift >= 0; shift -= 8)
+            write((int) (value >>> shift));
+    }
+
+    /**
+     * Write a double in its full 8-bytes form.
+     */
+    public void writeDouble(double value){
+        writeLong(Double.doubleToLongBits(value));
+    }
+
+    /**
+     * Write a string in UTF-8. Null values are allowed.
+     */
+    public void writeString(String value){
+        if(value == null){
+            writeVarInt(0);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        write(bytes);
+    }
+
+    /**
+     * Write a string that is likely to be repeated (key names, world names, etc).
+     * The string is written in full only on its first occurrence in the snapshot.
+     */
+    public void writeInternedString(String value){
+        Integer id = stringsDictionary.get(value);
+
+        if(id != null){
+            writeVarInt(id + 1);
+            return;
+        }
+
+        stringsDictionary.put(value, stringsDictionary.size());
+        writeVarInt(0);
+        writeString(value);
+    }
+
+    /**
+     * Write a key. Keys are interned, see writeInternedString(String)
+     */
+    public void writeKey(Key key){
+        writeInternedString(key.toString());
+    }
+
+    /**
+     * Write a uuid. Null values are allowed.
+     * The uuid is written in full only on its first occurrence in the snapshot.
+     */
+    public void writeUUID(UUID uuid){
+        if(uuid == null){
+            writeVarInt(0);
+            return;
+        }
+
+        Integer id = uuidsDictionary.get(uuid);
+
+        if(id != null){
+            writeVarInt(id + 2);
+            return;
+        }
+
+        uuidsDictionary.put(uuid, uuidsDictionary.size());
+        writeVarInt(1);
+        writeLong(uuid.getMostSignificantBits());
+        writeLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Write a big-decimal. Null values are written as zero.
+     */
+    public void writeBigDecimal(BigDecimal value){
+        writeString(value == null ? "0" : value.toString());
+    }
+
+    /**
+     * Get the bytes that were written so far.
+     */
+    public byte[] toByteArray(){
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void write(int value){
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    private void write(byte[] bytes){
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensureCapacity(int length){
+        if(size + length > buffer.length)
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+    }
+
+}
@@ -0,0 +1,270 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A queue that tracks the dirty fields of objects, and saves them in batches on a dedicated thread.
+ * Changes that are made to the same object within the flush interval are coalesced into one write.
+ * Batches are never dropped - a batch that failed to be saved is queued again, and is retried with an
+ * exponential backoff that is capped by MAX_RETRY_DELAY.
+ * @param <T> The type of the objects that are saved.
+ */
+public final class WriteBehindQueue<T> {
+
+    private static final Logger logger = Logger.getLogger(WriteBehindQueue.class.getName());
+
+    private static final long MAX_RETRY_DELAY = 60000;
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT = 30000;
+
+    private final Object lock = new Object();
+    // Held while the flush handler runs, so the handler is never called concurrently.
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService executor;
+    private final Consumer<Map<T, Set<String>>> flushHandler;
+    private final long flushInterval;
+
+    private Map<T, Set<String>> pendingChanges = new LinkedHashMap<>();
+    private boolean shutdown = false;
+    private int failedFlushes = 0;
+    private long nextRetryTime = 0;
+    private volatile BiConsumer<Throwable, Map<T, Set<String>>> errorHandler = (ex, changes) ->
+            logger.log(Level.SEVERE, "Failed to save the changes of " + changes.size() + " objects, they will be retried", ex);
+
+    /**
+     * The constructor of the queue.
+     * @param threadName The name of the I/O thread of the queue.
+     * @param flushInterval The interval (in milliseconds) between flushes.
+     * @param flushHandler The handler that saves a batch of objects, with the fields that were changed for each one.
+     *                     The handler is called from the I/O thread of the queue, or from the thread that
+     *                     shut down the queue, but never from two threads at the same time.
+     */
+    public WriteBehindQueue(String threadName, long flushInterval, Consumer<Map<T, Set<String>>> flushHandler){
+        Preconditions.checkArgument(flushInterval > 0, "Flush interval must be positive.");
+        this.flushInterval = flushInterval;
+        this.flushHandler = flushHandler;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(() -> flushChanges(false), flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Set the handler of errors that are thrown while saving batches.
+     * The handler receives the error and the changes that failed to be saved. These changes are retried later,
+     * unless they are returned from shutdown(long, TimeUnit).
+     * By default, errors are logged.
+     * @param errorHandler The handler to set.
+     */
+    public void setErrorHandler(BiConsumer<Throwable, Map<T, Set<String>>> errorHandler){
+        Preconditions.checkNotNull(errorHandler, "errorHandler parameter cannot be null.");
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Mark fields of an object as dirty.
+     * The object will be saved in the next flush.
+     * After the queue was shut down, the object is saved instantly on the calling thread instead.
+     * @param object The object that was changed.
+     * @param fields The fields that were changed.
+     */
+    public void markDirty(T object, String... fields){
+        synchronized (lock){
+            if(!shutdown){
+                Set<String> dirtyFields = pendingChanges.computeIfAbsent(object, o -> new HashSet<>());
+                for(String field : fields)
+                    dirtyFields.add(field);
+                return;
+            }
+        }
+
+        Map<T, Set<String>> changes = new LinkedHashMap<>();
+        changes.put(object, new HashSet<>(Arrays.asList(fields)));
+
+        synchronized (flushLock){
+            try{
+                flushHandler.accept(changes);
+            }catch(Throwable ex){
+                errorHandler.accept(ex, changes);
+            }
+        }
+    }
+
+    /**
+     * Get the amount of objects that are waiting to be saved.
+     */
+    public int getQueueSize(){
+        synchronized (lock){
+            return pendingChanges.size();
+        }
+    }
+
+    /**
+     * Get the interval (in milliseconds) between flushes.
+     */
+    public long getFlushInterval(){
+        return flushInterval;
+    }
+
+    /**
+     * Save all the pending changes without waiting for the next flush.
+     * After the queue was shut down, there are no pending changes and the method does nothing.
+     * @return A future that is completed when the changes were saved.
+     */
+    public CompletableFuture<Void> flush(){
+        synchronized (lock){
+            if(shutdown)
+                return CompletableFuture.completedFuture(null);
+        }
+
+        try{
+            return CompletableFuture.runAsync(() -> flushChanges(true), executor);
+        }catch(RejectedExecutionException ex){
+            // The queue was shut down concurrently, and its changes are saved by shutdown.
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Shut down the queue, retrying failed saves for up to 30 seconds.
+     * See shutdown(long, TimeUnit)
+     * @return The changes that could not be saved.
+     */
+    public Map<T, Set<String>> shutdown(){
+        return shutdown(DEFAULT_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Shut down the queue.
+     * The flush that is currently running (if any) is completed without being interrupted, and then all
+     * the remaining changes are saved on the calling thread. Failed saves are retried until the timeout passes.
+     * Changes that are made after the queue was shut down are saved instantly, see markDirty(Object, String...)
+     * @param timeout The maximum time to retry failed saves.
+     * @param timeUnit The unit of the timeout.
+     * @return The changes that could not be saved before the timeout has passed. Empty if all the changes were saved.
+     *         These changes are no longer tracked by the queue.
+     */
+    public Map<T, Set<String>> shutdown(long timeout, TimeUnit timeUnit){
+        synchronized (lock){
+            if(shutdown)
+                return Collections.emptyMap();
+            shutdown = true;
+        }
+
+        // Scheduled flushes are cancelled, and a running flush is left to complete.
+        executor.shutdown();
+
+        long deadline = System.currentTimeMillis() + timeUnit.toMillis(timeout);
+
+        // The flush lock is acquired only after the running flush has completed, and changes of a failed flush
+        // are already queued again by then.
+        synchronized (flushLock){
+            while(true){
+                Map<T, Set<String>> changes;
+
+                synchronized (lock){
+                    changes = pendingChanges;
+                    pendingChanges = new LinkedHashMap<>();
+                }
+
+                if(changes.isEmpty())
+                    return Collections.emptyMap();
+
+                try{
+                    flushHandler.accept(changes);
+                    continue;
+                }catch(Throwable ex){
+                    errorHandler.accept(ex, changes);
+                }
+
+                long remainingTime = deadline - System.currentTimeMillis();
+
+                if(remainingTime <= 0 || Thread.currentThread().isInterrupted())
+                    return mergeChanges(changes);
+
+                try{
+                    Thread.sleep(Math.min(flushInterval, remainingTime));
+                }catch(InterruptedException ex){
+                    Thread.currentThread().interrupt();
+                    return mergeChanges(changes);
+                }
+
+                synchronized (lock){
+                    addChanges(pendingChanges, changes);
+                }
+            }
+        }
+    }
+
+    private void flushChanges(boolean force){
+        synchronized (flushLock){
+            Map<T, Set<String>> changes;
+
+            synchronized (lock){
+                // After failures, scheduled flushes are delayed with an exponential backoff.
+                if(pendingChanges.isEmpty() || (!force && System.currentTimeMillis() < nextRetryTime))
+                    return;
+                changes = pendingChanges;
+                pendingChanges = new LinkedHashMap<>();
+            }
+
+            try{
+                flushHandler.accept(changes);
+                synchronized (lock){
+                    failedFlushes = 0;
+                    nextRetryTime = 0;
+                }
+            }catch(Throwable ex){
+                errorHandler.accept(ex, changes);
+                synchronized (lock){
+                    failedFlushes++;
+                    nextRetryTime = System.currentTimeMillis() + getRetryDelay(failedFlushes);
+                    // Failed changes are queued again, merged with changes that were made in the meantime.
+                    addChanges(pendingChanges, changes);
+                }
+            }
+        }
+    }
+
+    private long getRetryDelay(int failedFlushes){
+        long delay = flushInterval;
+
+        for(int i = 1; i < failedFlushes && delay < MAX_RETRY_DELAY; i++)
+            delay <<= 1;
+
+        return Math.min(delay, MAX_RETRY_DELAY);
+    }
+
+    private Map<T, Set<String>> mergeChanges(Map<T, Set<String>> changes){
+        synchronized (lock){
+            // Changes that were made while retrying are returned as well.
+            addChanges(changes, pendingChanges);
+            pendingChanges = new LinkedHashMap<>();
+        }
+
+        return changes;
+    }
+
+    private static <T> void addChanges(Map<T, Set<String>> target, Map<T, Set<String>> changes){
+        for(Map.Entry<T, Set<String>> entry : changes.entrySet())
+            target.computeIfAbsent(entry.getKey(), o -> new HashSet<>()).addAll(entry.getValue());
+    }
+
+}
@@ -0,0 +1,299 @@
+package com.bgsoftware.superiorskyblock.api.events;
+
+import com.google.common.base.Preconditions;
+import org.bukkit.event.Cancellable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An event bus for island notifications (worth calculated, schematic pasted, island created, etc).
+ * Unlike Bukkit events, listeners of the bus are called on a pool of worker threads, so slow listeners
+ * (webhooks, analytics, etc) don't delay the main thread.
+ * Cancellable events can be posted only after their outcome is final - that is, after they were called
+ * through Bukkit and were not cancelled. Listeners of the bus cannot cancel events.
+ *
+ * Every listener has its own queue of pending events, which is drained by one worker at a time - so a
+ * listener receives the events in the order they were posted, and is never called concurrently.
+ * Queues are bounded, and events that are posted to a full queue are dropped for that listener.
+ */
+public final class AsyncEventBus {
+
+    private static final Logger logger = Logger.getLogger(AsyncEventBus.class.getName());
+    private static final int DRAIN_BATCH_SIZE = 64;
+
+    private final ExecutorService executor;
+    private final int queueCapacity;
+    private final Object registrationLock = new Object();
+    private final AtomicLong droppedEvents = new AtomicLong(0);
+
+    // Replaced on every registration, so listeners that are resolved from an old snapshot are never cached in a new one.
+    private volatile Listeners listeners = new Listeners(new ListenerQueue[0]);
+    private volatile boolean closed = false;
+
+    private volatile Consumer<Throwable> errorHandler = ex -> logger.log(Level.SEVERE, "An async listener failed to handle an event", ex);
+
+    /**
+     * The constructor of the bus.
+     * @param threadName The name of the worker threads.
+     * @param threads The amount of worker threads.
+     * @param queueCapacity The maximum amount of pending events of every listener.
+     */
+    public AsyncEventBus(String threadName, int threads, int queueCapacity){
+        Preconditions.checkArgument(threads > 0, "Amount of threads must be positive.");
+        Preconditions.checkArgument(queueCapacity > 0, "Queue capacity must be positive.");
+        this.queueCapacity = queueCapacity;
+        AtomicInteger threadId = new AtomicInteger(0);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, threadName + " #" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Set the handler of errors that are thrown by listeners.
+     * By default, errors are logged.
+     * @param errorHandler The handler to set.
+     */
+    public void setErrorHandler(Consumer<Throwable> errorHandler){
+        Preconditions.checkNotNull(errorHandler, "errorHandler parameter cannot be null.");
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Register a listener to an event type.
+     * The listener will receive events of that type and of all its sub-classes.
+     * @param eventType The type of the events.
+     * @param listener The listener to register.
+     */
+    public <E extends IslandEvent> void register(Class<E> eventType, AsyncListener<? super E> listener){
+        synchronized (registrationLock){
+            ListenerQueue[] listenerQueues = Arrays.copyOf(listeners.all, listeners.all.length + 1);
+            listenerQueues[listenerQueues.length - 1] = new ListenerQueue(eventType, listener);
+            listeners = new Listeners(listenerQueues);
+        }
+    }
+
+    /**
+     * Unregister a listener from all the event types it's registered to.
+     * Events that are pending for the listener are discarded.
+     * @param listener The listener to unregister.
+     */
+    public void unregister(AsyncListener<?> listener){
+        synchronized (registrationLock){
+            List<ListenerQueue> listenerQueues = new ArrayList<>();
+
+            for(ListenerQueue listenerQueue : listeners.all){
+                if(listenerQueue.listener == listener)
+                    listenerQueue.removed = true;
+                else
+                    listenerQueues.add(listenerQueue);
+            }
+
+            listeners = new Listeners(listenerQueues.toArray(new ListenerQueue[0]));
+        }
+    }
+
+    /**
+     * Check whether or not there are listeners for an event type.
+     * Should be used to skip constructing events that no one listens to.
+     * @param eventType The type of the event.
+     */
+    public boolean hasListeners(Class<? extends IslandEvent> eventType){
+        return getListeners(eventType).length > 0;
+    }
+
+    /**
+     * Post an event to all the listeners of its type.
+     * The method doesn't wait for the listeners to be called.
+     * Events that are posted after shutdown(long, TimeUnit) was called are dropped.
+     * @param event The event to post. Cancellable events must be posted after they were called, and cannot be cancelled.
+     * @return True if the event was queued for all the listeners, false if it was dropped for at least one of them.
+     */
+    public boolean post(IslandEvent event){
+        Preconditions.checkArgument(!(event instanceof Cancellable) || !((Cancellable) event).isCancelled(), "Cannot post cancelled events.");
+
+        if(closed){
+            droppedEvents.incrementAndGet();
+            return false;
+        }
+
+        boolean queued = true;
+
+        for(ListenerQueue listenerQueue : getListeners(event.getClass())){
+            if(!listenerQueue.offer(event)){
+                droppedEvents.incrementAndGet();
+                queued = false;
+            }
+        }
+
+        return queued;
+    }
+
+    /**
+     * Get the amount of events that were dropped because the queues of their listeners were full.
+     */
+    public long getDroppedEvents(){
+        return droppedEvents.get();
+    }
+
+    /**
+     * Shut down the bus.
+     * The bus stops accepting events, and events that were already posted are delivered before the method returns,
+     * unless the timeout has passed.
+     * @param timeout The maximum time to wait for the listeners.
+     * @param timeUnit The unit of the timeout.
+     */
+    public void shutdown(long timeout, TimeUnit timeUnit){
+        closed = true;
+
+        // Queues that are still pending re-schedule themselves, so the executor is shut down only when they are empty.
+        long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+
+        while(System.nanoTime() < deadline && hasPendingEvents()){
+            try{
+                Thread.sleep(10);
+            }catch(InterruptedException ex){
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        executor.shutdownNow();
+    }
+
+    private boolean hasPendingEvents(){
+        for(ListenerQueue listenerQueue : listeners.all){
+            if(listenerQueue.size.get() > 0)
+                return true;
+        }
+
+        return false;
+    }
+
+    private ListenerQueue[] getListeners(Class<?> eventType){
+        return listeners.resolve(eventType);
+    }
+
+    private static final class Listeners {
+
+        private final ListenerQueue[] all;
+        private final Map<Class<?>, ListenerQueue[]> resolved = new ConcurrentHashMap<>();
+
+        Listeners(ListenerQueue[] all){
+            this.all = all;
+        }
+
+        ListenerQueue[] resolve(Class<?> eventType){
+            return resolved.computeIfAbsent(eventType, type -> {
+                List<ListenerQueue> eventListeners = new ArrayList<>();
+
+                for(ListenerQueue listenerQueue : all){
+                    if(listenerQueue.eventType.isAssignableFrom(type))
+                        eventListeners.add(listenerQueue);
+                }
+
+                return eventListeners.toArray(new ListenerQueue[0]);
+            });
+        }
+
+    }
+
+    private final class ListenerQueue {
+
+        private final Class<?> eventType;
+        private final AsyncListener<?> listener;
+        // Multiple producers (any thread that posts events), and a single consumer (the worker that drains the queue).
+        private final Queue<IslandEvent> events = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger(0);
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private volatile boolean removed = false;
+
+        ListenerQueue(Class<?> eventType, AsyncListener<?> listener){
+            this.eventType = eventType;
+            this.listener = listener;
+        }
+
+        boolean offer(IslandEvent event){
+            if(size.incrementAndGet() > queueCapacity){
+                size.decrementAndGet();
+                return false;
+            }
+
+            events.offer(event);
+
+            return schedule();
+        }
+
+        boolean schedule(){
+            if(!scheduled.compareAndSet(false, true))
+                return true;
+
+            try{
+                executor.execute(this::drain);
+                return true;
+            }catch(RejectedExecutionException ex){
+                // The bus was shut down while the event was posted, so the pending events can no longer be delivered.
+                discard();
+                scheduled.set(false);
+                return false;
+            }
+        }
+
+        void discard(){
+            while(events.poll() != null){
+                size.decrementAndGet();
+                droppedEvents.incrementAndGet();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void drain(){
+            AsyncListener<IslandEvent> listener = (AsyncListener<IslandEvent>) this.listener;
+
+            for(int i = 0; i < DRAIN_BATCH_SIZE; i++){
+                IslandEvent event = events.poll();
+
+                if(event == null)
+                    break;
+
+                size.decrementAndGet();
+
+                if(removed)
+                    continue;
+
+                try{
+                    listener.onEvent(event);
+                }catch(Throwable ex){
+                    errorHandler.accept(ex);
+                }
+            }
+
+            scheduled.set(false);
+
+            // Events may be posted after the last poll and before the flag was cleared, so the queue is checked again.
+            // Draining in batches also lets other listeners use the workers between batches.
+            if(!events.isEmpty() && !executor.isShutdown())
+                schedule();
+        }
+
+    }
+
+}
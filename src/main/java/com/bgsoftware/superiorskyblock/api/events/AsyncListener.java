@@ -0,0 +1,17 @@
+package com.bgsoftware.superiorskyblock.api.events;
+
+/**
+ * A listener for island notifications that are delivered by the AsyncEventBus.
+ * Listeners are never called from the main thread, so they must not use the Bukkit API directly.
+ * @param <E> The type of the events.
+ */
+public interface AsyncListener<E extends IslandEvent> {
+
+    /**
+     * A function that is called for every event that the listener is registered to.
+     * Events are delivered to every listener in the order they were posted.
+     * @param event The event that was posted.
+     */
+    void onEvent(E event);
+
+}
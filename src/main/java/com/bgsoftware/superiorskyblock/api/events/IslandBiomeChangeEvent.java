@@ -4,6 +4,7 @@ import com.bgsoftware.superiorskyblock.api.island.Island;
 import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
 import org.bukkit.block.Biome;
 import org.bukkit.event.Cancellable;
+import org.bukkit.event.HandlerList;
 
 import java.util.List;
 
@@ -12,6 +13,8 @@ import java.util.List;
  */
 public class IslandBiomeChangeEvent extends IslandEvent implements Cancellable {
 
+    private static final HandlerList handlers = new HandlerList();
+
     private final SuperiorPlayer superiorPlayer;
     private Biome biome;
     private boolean cancelled = false;
@@ -59,4 +62,13 @@ public class IslandBiomeChangeEvent extends IslandEvent implements Cancellable {
         this.cancelled = cancelled;
     }
 
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+
 }
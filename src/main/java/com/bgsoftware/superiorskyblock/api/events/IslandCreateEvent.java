@@ -3,12 +3,15 @@ package com.bgsoftware.superiorskyblock.api.events;
 import com.bgsoftware.superiorskyblock.api.island.Island;
 import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
 import org.bukkit.event.Cancellable;
+import org.bukkit.event.HandlerList;
 
 /**
  * IslandCreateEvent is called when a new island is created.
  */
 public class IslandCreateEvent extends IslandEvent implements Cancellable {
 
+    private static final HandlerList handlers = new HandlerList();
+
     private final SuperiorPlayer superiorPlayer;
     private final String schematic;
     private boolean teleport = true;
@@ -76,4 +79,13 @@ public class IslandCreateEvent extends IslandEvent implements Cancellable {
         this.cancelled = cancelled;
     }
 
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+
 }
@@ -3,12 +3,15 @@ package com.bgsoftware.superiorskyblock.api.events;
 import com.bgsoftware.superiorskyblock.api.island.Island;
 import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
 import org.bukkit.event.Cancellable;
+import org.bukkit.event.HandlerList;
 
 /**
  * IslandDisbandEvent is called when an island is disbanded.
  */
 public class IslandDisbandEvent extends IslandEvent implements Cancellable {
 
+    private static final HandlerList handlers = new HandlerList();
+
     private final SuperiorPlayer superiorPlayer;
     private boolean cancelled = false;
 
@@ -39,4 +42,13 @@ public class IslandDisbandEvent extends IslandEvent implements Cancellable {
         this.cancelled = cancelled;
     }
 
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+
 }
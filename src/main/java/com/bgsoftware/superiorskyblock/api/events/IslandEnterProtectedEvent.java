@@ -1,5 +1,6 @@
 package com.bgsoftware.superiorskyblock.api.events;
 
+import com.bgsoftware.superiorskyblock.api.SuperiorSkyblockAPI;
 import com.bgsoftware.superiorskyblock.api.island.Island;
 import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
 import org.bukkit.event.HandlerList;
@@ -55,4 +56,15 @@ public class IslandEnterProtectedEvent extends IslandEnterEvent {
         return handlers;
     }
 
+    /**
+     * Check whether or not there are listeners registered to this event.
+     * Both the Bukkit listeners and the listeners of SuperiorSkyblock.getAsyncEventBus() are checked.
+     * The listeners arrays of both are cached, and are rebuilt only when listeners are registered
+     * or unregistered, so this check is cheap enough to be done before constructing the event.
+     */
+    public static boolean hasListeners() {
+        return handlers.getRegisteredListeners().length > 0 ||
+                SuperiorSkyblockAPI.getSuperiorSkyblock().getAsyncEventBus().hasListeners(IslandEnterProtectedEvent.class);
+    }
+
 }
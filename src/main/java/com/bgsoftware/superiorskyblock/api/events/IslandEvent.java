@@ -7,6 +7,7 @@ import org.bukkit.event.HandlerList;
 
 /**
  * All the island events extend IslandEvent.
+ * Every island event has its own handler list, so listeners should listen to the concrete events.
  */
 public abstract class IslandEvent extends Event {
 
@@ -35,6 +36,11 @@ public abstract class IslandEvent extends Event {
         return handlers;
     }
 
+    /**
+     * Get the handler list of IslandEvent.
+     * Island events are dispatched to the handler lists of their own types, therefore listeners
+     * that are registered to IslandEvent directly are not called for them.
+     */
     public static HandlerList getHandlerList() {
         return handlers;
     }
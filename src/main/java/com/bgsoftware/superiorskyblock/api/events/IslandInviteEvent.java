@@ -3,12 +3,15 @@ package com.bgsoftware.superiorskyblock.api.events;
 import com.bgsoftware.superiorskyblock.api.island.Island;
 import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
 import org.bukkit.event.Cancellable;
+import org.bukkit.event.HandlerList;
 
 /**
  * IslandInviteEvent is called when a player is invited to an island.
  */
 public class IslandInviteEvent extends IslandEvent implements Cancellable {
 
+    private static final HandlerList handlers = new HandlerList();
+
     private final SuperiorPlayer superiorPlayer, targetPlayer;
     private boolean cancelled = false;
 
@@ -48,4 +51,13 @@ public class IslandInviteEvent extends IslandEvent implements Cancellable {
         this.cancelled = cancelled;
     }
 
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+
 }
@@ -2,12 +2,15 @@ package com.bgsoftware.superiorskyblock.api.events;
 
 import com.bgsoftware.superiorskyblock.api.island.Island;
 import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
+import org.bukkit.event.HandlerList;
 
 /**
  * IslandKickEvent is called when a player is kicked from his island.
  */
 public class IslandKickEvent extends IslandEvent {
 
+    private static final HandlerList handlers = new HandlerList();
+
     private final SuperiorPlayer superiorPlayer, targetPlayer;
 
     /**
@@ -36,4 +39,13 @@ public class IslandKickEvent extends IslandEvent {
         return targetPlayer;
     }
 
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+
 }
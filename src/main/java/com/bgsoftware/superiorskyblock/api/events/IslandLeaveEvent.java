@@ -1,15 +1,19 @@
 package com.bgsoftware.superiorskyblock.api.events;
 
+import com.bgsoftware.superiorskyblock.api.SuperiorSkyblockAPI;
 import com.bgsoftware.superiorskyblock.api.island.Island;
 import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
 import org.bukkit.Location;
 import org.bukkit.event.Cancellable;
+import org.bukkit.event.HandlerList;
 
 /**
  * IslandLeaveEvent is called when a player is walking out from the island's area.
  */
 public class IslandLeaveEvent extends IslandEvent implements Cancellable {
 
+    private static final HandlerList handlers = new HandlerList();
+
     private final SuperiorPlayer superiorPlayer;
     private final LeaveCause leaveCause;
     private final Location toLocation;
@@ -86,6 +90,26 @@ public class IslandLeaveEvent extends IslandEvent implements Cancellable {
         this.cancelled = cancelled;
     }
 
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+
+    /**
+     * Check whether or not there are listeners registered to this event.
+     * Both the Bukkit listeners and the listeners of SuperiorSkyblock.getAsyncEventBus() are checked.
+     * The listeners arrays of both are cached, and are rebuilt only when listeners are registered
+     * or unregistered, so this check is cheap enough to be done before constructing the event.
+     */
+    public static boolean hasListeners() {
+        return handlers.getRegisteredListeners().length > 0 ||
+                SuperiorSkyblockAPI.getSuperiorSkyblock().getAsyncEventBus().hasListeners(IslandLeaveEvent.class);
+    }
+
     /**
      * Used to determine the cause of leaving.
      */
@@ -1,13 +1,17 @@
 package com.bgsoftware.superiorskyblock.api.events;
 
+import com.bgsoftware.superiorskyblock.api.SuperiorSkyblockAPI;
 import com.bgsoftware.superiorskyblock.api.island.Island;
 import org.bukkit.Location;
+import org.bukkit.event.HandlerList;
 
 /**
  * IslandSchematicPasteEvent is called when a schematic is placed.
  */
 public class IslandSchematicPasteEvent extends IslandEvent{
 
+    private static final HandlerList handlers = new HandlerList();
+
     private final String schematic;
     private final Location location;
 
@@ -36,4 +40,24 @@ public class IslandSchematicPasteEvent extends IslandEvent{
     public Location getLocation() {
         return location;
     }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+
+    /**
+     * Check whether or not there are listeners registered to this event.
+     * Both the Bukkit listeners and the listeners of SuperiorSkyblock.getAsyncEventBus() are checked.
+     * The listeners arrays of both are cached, and are rebuilt only when listeners are registered
+     * or unregistered, so this check is cheap enough to be done before constructing the event.
+     */
+    public static boolean hasListeners() {
+        return handlers.getRegisteredListeners().length > 0 ||
+                SuperiorSkyblockAPI.getSuperiorSkyblock().getAsyncEventBus().hasListeners(IslandSchematicPasteEvent.class);
+    }
 }
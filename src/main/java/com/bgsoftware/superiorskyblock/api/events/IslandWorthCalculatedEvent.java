@@ -2,6 +2,7 @@ package com.bgsoftware.superiorskyblock.api.events;
 
 import com.bgsoftware.superiorskyblock.api.island.Island;
 import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
+import org.bukkit.event.HandlerList;
 
 import java.math.BigDecimal;
 
@@ -10,6 +11,8 @@ import java.math.BigDecimal;
  */
 public class IslandWorthCalculatedEvent extends IslandEvent {
 
+    private static final HandlerList handlers = new HandlerList();
+
     private final BigDecimal level, worth;
     private final SuperiorPlayer player;
 
@@ -61,4 +64,13 @@ public class IslandWorthCalculatedEvent extends IslandEvent {
     public BigDecimal getWorth() {
         return worth;
     }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
 }
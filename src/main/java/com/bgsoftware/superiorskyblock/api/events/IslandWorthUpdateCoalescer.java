@@ -0,0 +1,102 @@
+package com.bgsoftware.superiorskyblock.api.events;
+
+import com.bgsoftware.superiorskyblock.api.island.Island;
+import org.bukkit.Bukkit;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Merges the worth updates of islands into one IslandWorthUpdateEvent per island.
+ * Updates are collected using update(Island, BigDecimal, BigDecimal, BigDecimal, BigDecimal), and
+ * are dispatched when flush() is called - which should be done once at the end of every tick.
+ */
+public final class IslandWorthUpdateCoalescer {
+
+    private final Consumer<IslandWorthUpdateEvent> dispatcher;
+
+    private Map<Island, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+
+    /**
+     * Create a coalescer that calls the events using the plugin manager.
+     */
+    public IslandWorthUpdateCoalescer(){
+        this(event -> Bukkit.getPluginManager().callEvent(event));
+    }
+
+    /**
+     * Create a coalescer.
+     * @param dispatcher The function that calls the merged events.
+     */
+    public IslandWorthUpdateCoalescer(Consumer<IslandWorthUpdateEvent> dispatcher){
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Add a worth update of an island.
+     * @param island The island that its worth was updated.
+     * @param oldWorth The old worth of the island.
+     * @param oldLevel The old level of the island.
+     * @param newWorth The new worth of the island.
+     * @param newLevel The new level of the island.
+     */
+    public synchronized void update(Island island, BigDecimal oldWorth, BigDecimal oldLevel, BigDecimal newWorth, BigDecimal newLevel){
+        PendingUpdate pendingUpdate = pendingUpdates.get(island);
+
+        if(pendingUpdate == null){
+            pendingUpdates.put(island, new PendingUpdate(oldWorth, oldLevel, newWorth, newLevel));
+        }
+        else{
+            pendingUpdate.newWorth = newWorth;
+            pendingUpdate.newLevel = newLevel;
+            pendingUpdate.changeCount++;
+        }
+    }
+
+    /**
+     * Get the amount of islands with pending updates.
+     */
+    public synchronized int getPendingAmount(){
+        return pendingUpdates.size();
+    }
+
+    /**
+     * Call the merged events of all the pending updates.
+     * Updates that are added while the events are called are kept for the next flush.
+     */
+    public void flush(){
+        Map<Island, PendingUpdate> pendingUpdates;
+
+        synchronized (this){
+            if(this.pendingUpdates.isEmpty())
+                return;
+
+            pendingUpdates = this.pendingUpdates;
+            this.pendingUpdates = new LinkedHashMap<>();
+        }
+
+        for(Map.Entry<Island, PendingUpdate> entry : pendingUpdates.entrySet()){
+            PendingUpdate pendingUpdate = entry.getValue();
+            dispatcher.accept(new IslandWorthUpdateEvent(entry.getKey(), pendingUpdate.oldWorth, pendingUpdate.oldLevel,
+                    pendingUpdate.newWorth, pendingUpdate.newLevel, pendingUpdate.changeCount));
+        }
+    }
+
+    private static final class PendingUpdate {
+
+        private final BigDecimal oldWorth, oldLevel;
+        private BigDecimal newWorth, newLevel;
+        private int changeCount = 1;
+
+        PendingUpdate(BigDecimal oldWorth, BigDecimal oldLevel, BigDecimal newWorth, BigDecimal newLevel){
+            this.oldWorth = oldWorth;
+            this.oldLevel = oldLevel;
+            this.newWorth = newWorth;
+            this.newLevel = newLevel;
+        }
+
+    }
+
+}
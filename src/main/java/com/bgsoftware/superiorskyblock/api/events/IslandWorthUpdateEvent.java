@@ -1,6 +1,8 @@
 package com.bgsoftware.superiorskyblock.api.events;
 
+import com.bgsoftware.superiorskyblock.api.SuperiorSkyblockAPI;
 import com.bgsoftware.superiorskyblock.api.island.Island;
+import org.bukkit.event.HandlerList;
 
 import java.math.BigDecimal;
 
@@ -9,22 +11,39 @@ import java.math.BigDecimal;
  */
 public class IslandWorthUpdateEvent extends IslandEvent{
 
+    private static final HandlerList handlers = new HandlerList();
+
     private BigDecimal oldWorth, oldLevel, newWorth, newLevel;
+    private int changeCount;
 
     /**
      * The constructor of the event.
-     * @param island The island that the leadership of it is transferred.
+     * @param island The island that its worth was updated.
      * @param oldWorth The old worth of the island.
      * @param oldLevel The old level of the island.
      * @param newWorth The new worth of the island.
      * @param newLevel The new level of the island.
      */
     public IslandWorthUpdateEvent(Island island, BigDecimal oldWorth, BigDecimal oldLevel, BigDecimal newWorth, BigDecimal newLevel){
+        this(island, oldWorth, oldLevel, newWorth, newLevel, 1);
+    }
+
+    /**
+     * The constructor of the event.
+     * @param island The island that its worth was updated.
+     * @param oldWorth The old worth of the island.
+     * @param oldLevel The old level of the island.
+     * @param newWorth The new worth of the island.
+     * @param newLevel The new level of the island.
+     * @param changeCount The amount of worth changes that were merged into the event.
+     */
+    public IslandWorthUpdateEvent(Island island, BigDecimal oldWorth, BigDecimal oldLevel, BigDecimal newWorth, BigDecimal newLevel, int changeCount){
         super(island);
         this.oldWorth = oldWorth;
         this.oldLevel = oldLevel;
         this.newWorth = newWorth;
         this.newLevel = newLevel;
+        this.changeCount = changeCount;
     }
 
     /**
@@ -54,4 +73,34 @@ public class IslandWorthUpdateEvent extends IslandEvent{
     public BigDecimal getNewLevel() {
         return newLevel;
     }
+
+    /**
+     * Get the amount of worth changes that were merged into this event.
+     * When coalescing is enabled, all the changes of an island during a tick are merged into one event,
+     * with the old values of the first change and the new values of the last change.
+     * Otherwise, it's always 1.
+     */
+    public int getChangeCount() {
+        return changeCount;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+
+    /**
+     * Check whether or not there are listeners registered to this event.
+     * Both the Bukkit listeners and the listeners of SuperiorSkyblock.getAsyncEventBus() are checked.
+     * The listeners arrays of both are cached, and are rebuilt only when listeners are registered
+     * or unregistered, so this check is cheap enough to be done before constructing the event.
+     */
+    public static boolean hasListeners() {
+        return handlers.getRegisteredListeners().length > 0 ||
+                SuperiorSkyblockAPI.getSuperiorSkyblock().getAsyncEventBus().hasListeners(IslandWorthUpdateEvent.class);
+    }
 }
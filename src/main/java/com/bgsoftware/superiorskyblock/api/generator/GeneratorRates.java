@@ -0,0 +1,248 @@
+package com.bgsoftware.superiorskyblock.api.generator;
+
+import com.bgsoftware.superiorskyblock.api.key.Key;
+import com.google.common.base.Preconditions;
+import org.bukkit.World;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable snapshot of the generator rates of an island (or an upgrade level) in a specific environment.
+ * The amounts are stored in a primitive array indexed by interned keys, so consumers don't need to parse
+ * string keys. Every change creates a new snapshot with a higher version, so snapshots can be shared
+ * between menus and generator listeners without copying, and consumers can detect changes by the version.
+ */
+public final class GeneratorRates {
+
+    private static final Map<String, Key> INTERNED_KEYS = new ConcurrentHashMap<>();
+
+    private final World.Environment environment;
+    private final long version;
+    private final Key[] keys;
+    private final int[] amounts;
+    private final long totalAmount;
+    private final Map<String, Integer> indexes = new HashMap<>();
+    // The keys of the snapshot are interned, so interned keys are found by identity without hashing their strings.
+    private final Map<Key, Integer> internedIndexes = new IdentityHashMap<>();
+
+    private volatile GeneratorTable table = null;
+
+    private GeneratorRates(World.Environment environment, long version, Key[] keys, int[] amounts){
+        this.environment = environment;
+        this.version = version;
+        this.keys = keys;
+        this.amounts = amounts;
+
+        long totalAmount = 0;
+
+        for(int i = 0; i < keys.length; i++){
+            indexes.put(keys[i].toString(), i);
+            internedIndexes.put(keys[i], i);
+            totalAmount += amounts[i];
+        }
+
+        this.totalAmount = totalAmount;
+    }
+
+    /**
+     * Create an empty snapshot.
+     * @param environment The environment of the rates.
+     */
+    public static GeneratorRates empty(World.Environment environment){
+        return new GeneratorRates(environment, 0, new Key[0], new int[0]);
+    }
+
+    /**
+     * Create a snapshot from string-keyed amounts.
+     * Keys with an amount that is not positive are ignored.
+     * @param environment The environment of the rates.
+     * @param version The version of the snapshot.
+     * @param amounts The generator amounts.
+     */
+    public static GeneratorRates of(World.Environment environment, long version, Map<String, Integer> amounts){
+        Key[] keys = new Key[amounts.size()];
+        int[] keyAmounts = new int[amounts.size()];
+        int size = 0;
+
+        for(Map.Entry<String, Integer> entry : amounts.entrySet()){
+            if(entry.getValue() > 0) {
+                keys[size] = intern(entry.getKey());
+                keyAmounts[size++] = entry.getValue();
+            }
+        }
+
+        return new GeneratorRates(environment, version, Arrays.copyOf(keys, size), Arrays.copyOf(keyAmounts, size));
+    }
+
+    /**
+     * Get the interned key of a string.
+     * Interned keys are shared between all the snapshots, so they can be compared by identity.
+     * @param key The string to check.
+     */
+    public static Key intern(String key){
+        return INTERNED_KEYS.computeIfAbsent(key, Key::of);
+    }
+
+    /**
+     * Create a new snapshot with a changed amount of a key.
+     * The new snapshot has the next version.
+     * Keys are matched exactly - changing the amount of a key with a data value (material:data) never
+     * changes the amount of the key of its material.
+     * @param key The key to change.
+     * @param amount The new amount of the key. If it's not positive, the key is removed.
+     */
+    public GeneratorRates withAmount(Key key, int amount){
+        int index = exactIndexOf(key);
+
+        if(index == -1 && amount <= 0)
+            return this;
+
+        if(index == -1){
+            Key[] keys = Arrays.copyOf(this.keys, this.keys.length + 1);
+            int[] amounts = Arrays.copyOf(this.amounts, this.amounts.length + 1);
+            keys[keys.length - 1] = intern(key.toString());
+            amounts[amounts.length - 1] = amount;
+            return new GeneratorRates(environment, version + 1, keys, amounts);
+        }
+        else if(amount <= 0){
+            Key[] keys = new Key[this.keys.length - 1];
+            int[] amounts = new int[this.amounts.length - 1];
+            System.arraycopy(this.keys, 0, keys, 0, index);
+            System.arraycopy(this.keys, index + 1, keys, index, keys.length - index);
+            System.arraycopy(this.amounts, 0, amounts, 0, index);
+            System.arraycopy(this.amounts, index + 1, amounts, index, amounts.length - index);
+            return new GeneratorRates(environment, version + 1, keys, amounts);
+        }
+        else{
+            int[] amounts = this.amounts.clone();
+            amounts[index] = amount;
+            return new GeneratorRates(environment, version + 1, keys, amounts);
+        }
+    }
+
+    /**
+     * Get the environment of the rates.
+     */
+    public World.Environment getEnvironment(){
+        return environment;
+    }
+
+    /**
+     * Get the version of the snapshot.
+     * Versions are increased on every change, so a snapshot with a higher version is always newer.
+     */
+    public long getVersion(){
+        return version;
+    }
+
+    /**
+     * Get the amount of keys in the snapshot.
+     */
+    public int size(){
+        return keys.length;
+    }
+
+    /**
+     * Get a key from the snapshot.
+     * @param index The index of the key.
+     */
+    public Key getKey(int index){
+        return keys[index];
+    }
+
+    /**
+     * Get the amount of a key from the snapshot.
+     * @param index The index of the key.
+     */
+    public int getAmount(int index){
+        return amounts[index];
+    }
+
+    /**
+     * Get the index of a key.
+     * Keys with data values (material:data) fall back to the key of their material.
+     * @param key The key to check.
+     * @return The index of the key, or -1 if the key has no rate.
+     */
+    public int indexOf(Key key){
+        int index = exactIndexOf(key);
+
+        if(index == -1){
+            String keyString = key.toString();
+            int separator = keyString.indexOf(':');
+            if(separator == -1)
+                separator = keyString.indexOf(';');
+            if(separator != -1)
+                index = indexes.getOrDefault(keyString.substring(0, separator), -1);
+        }
+
+        return index;
+    }
+
+    /**
+     * Get the amount of a key.
+     * @param key The key to check.
+     */
+    public int getAmount(Key key){
+        int index = indexOf(key);
+        return index == -1 ? 0 : amounts[index];
+    }
+
+    /**
+     * Get the percentage of a key.
+     * The formula is (amount * 100) / total_amount.
+     * @param key The key to check.
+     */
+    public int getPercentage(Key key){
+        return totalAmount == 0 ? 0 : (int) ((long) getAmount(key) * 100 / totalAmount);
+    }
+
+    /**
+     * Get the total amount of all the keys together.
+     */
+    public long getTotalAmount(){
+        return totalAmount;
+    }
+
+    /**
+     * Get the generator table of the rates.
+     * The table is built on the first call, and is shared by all the users of the snapshot.
+     */
+    public GeneratorTable getTable(){
+        GeneratorTable table = this.table;
+
+        if(table == null)
+            this.table = table = GeneratorTable.of(keys, amounts);
+
+        return table;
+    }
+
+    /**
+     * Get the rates as a string-keyed map.
+     * Used for compatibility with the old map-based methods.
+     */
+    public Map<String, Integer> asMap(){
+        Map<String, Integer> map = new LinkedHashMap<>();
+
+        for(int i = 0; i < keys.length; i++)
+            map.put(keys[i].toString(), amounts[i]);
+
+        return Collections.unmodifiableMap(map);
+    }
+
+    private int exactIndexOf(Key key){
+        Integer index = internedIndexes.get(key);
+
+        if(index == null)
+            index = indexes.get(key.toString());
+
+        return index == null ? -1 : index;
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.bgsoftware.superiorskyblock.api.generator;
+
+import com.bgsoftware.superiorskyblock.api.key.Key;
+import com.google.common.base.Preconditions;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Rolls the outcomes of generators.
+ * Random values are drawn from a thread-local SplittableRandom, so rolls from different threads never contend
+ * on a shared Random. Every roller pre-rolls a batch of outcomes into a ring buffer, which is refilled when
+ * all of its outcomes were used, or when the generator table was changed.
+ */
+public final class GeneratorRoller {
+
+    private static final SplittableRandom ROOT_RANDOM = new SplittableRandom();
+    private static final ThreadLocal<SplittableRandom> THREAD_RANDOM = ThreadLocal.withInitial(() -> {
+        synchronized (ROOT_RANDOM) {
+            return ROOT_RANDOM.split();
+        }
+    });
+
+    private final Supplier<GeneratorTable> tableSupplier;
+    private final Key[] outcomes;
+
+    private GeneratorTable table = null;
+    private int position = 0;
+
+    /**
+     * The constructor of the roller.
+     * @param tableSupplier The supplier of the current generator table.
+     *                      The table is compared by identity, so the supplier should return the same object
+     *                      as long as the generator amounts were not changed.
+     * @param batchSize The amount of outcomes to pre-roll.
+     */
+    public GeneratorRoller(Supplier<GeneratorTable> tableSupplier, int batchSize){
+        Preconditions.checkArgument(batchSize > 0, "Batch size must be positive.");
+        this.tableSupplier = tableSupplier;
+        this.outcomes = new Key[batchSize];
+    }
+
+    /**
+     * Get the next outcome of the generator.
+     * @return The key of the block to generate, or null if the generator table is empty.
+     */
+    public synchronized Key roll(){
+        GeneratorTable table = tableSupplier.get();
+
+        if(table != this.table || position == outcomes.length){
+            this.table = table;
+            fill(table);
+        }
+
+        return outcomes[position++];
+    }
+
+    /**
+     * Get the size of the batches of the roller.
+     */
+    public int getBatchSize(){
+        return outcomes.length;
+    }
+
+    /**
+     * Roll an outcome directly from a table, without pre-rolling.
+     * @param table The generator table.
+     * @return The key of the block to generate, or null if the table is empty.
+     */
+    public static Key roll(GeneratorTable table){
+        return table.sample(THREAD_RANDOM.get().nextDouble());
+    }
+
+    /**
+     * Get the random generator of the current thread.
+     * The returned generator must not be shared with other threads.
+     */
+    public static SplittableRandom getRandom(){
+        return THREAD_RANDOM.get();
+    }
+
+    private void fill(GeneratorTable table){
+        SplittableRandom random = THREAD_RANDOM.get();
+
+        for(int i = 0; i < outcomes.length; i++)
+            outcomes[i] = table.sample(random.nextDouble());
+
+        position = 0;
+    }
+
+}
@@ -0,0 +1,208 @@
+package com.bgsoftware.superiorskyblock.api.generator;
+
+import com.bgsoftware.superiorskyblock.api.key.Key;
+import com.google.common.base.Preconditions;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * An immutable table of the generator amounts of an island, used for picking the block that a generator forms.
+ * The table is built using Walker's alias method, so every sample takes constant time regardless of the
+ * amount of keys, and doesn't allocate any objects.
+ *
+ * Tables should be built once, and rebuilt only when the generator amounts are changed.
+ */
+public final class GeneratorTable {
+
+    private static final GeneratorTable EMPTY = new GeneratorTable(new Key[0], new int[0]);
+
+    private final Key[] keys;
+    private final int[] amounts;
+    private final double[] probabilities;
+    private final int[] aliases;
+    private final long totalAmount;
+
+    private GeneratorTable(Key[] keys, int[] amounts){
+        int size = keys.length;
+        // Summed into a long, as the sum of many large amounts can overflow an int.
+        long totalAmount = 0;
+
+        // Only positive amounts are passed, see of(Key[], int[]), so the total is positive for non-empty tables.
+        for(int amount : amounts)
+            totalAmount += amount;
+
+        this.keys = keys;
+        this.amounts = amounts;
+        this.totalAmount = totalAmount;
+        this.probabilities = new double[size];
+        this.aliases = new int[size];
+
+        if(size == 0)
+            return;
+
+        // Vose's variant of the alias method - columns are split into ones that are below the average
+        // and ones that are above it, and every small column is filled with the remainder of a large one.
+        double[] scaled = new double[size];
+        int[] small = new int[size], large = new int[size];
+        int smallSize = 0, largeSize = 0;
+
+        for(int i = 0; i < size; i++){
+            scaled[i] = (double) amounts[i] * size / totalAmount;
+            if(scaled[i] < 1)
+                small[smallSize++] = i;
+            else
+                large[largeSize++] = i;
+        }
+
+        while(smallSize > 0 && largeSize > 0){
+            int smallIndex = small[--smallSize], largeIndex = large[--largeSize];
+
+            probabilities[smallIndex] = scaled[smallIndex];
+            aliases[smallIndex] = largeIndex;
+
+            scaled[largeIndex] = (scaled[largeIndex] + scaled[smallIndex]) - 1;
+
+            if(scaled[largeIndex] < 1)
+                small[smallSize++] = largeIndex;
+            else
+                large[largeSize++] = largeIndex;
+        }
+
+        // The remaining columns are full, up to rounding errors.
+        while(largeSize > 0) {
+            int index = large[--largeSize];
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+
+        while(smallSize > 0) {
+            int index = small[--smallSize];
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+    }
+
+    /**
+     * Get an empty table.
+     */
+    public static GeneratorTable empty(){
+        return EMPTY;
+    }
+
+    /**
+     * Build a table from keys and their amounts.
+     * Keys with an amount that is not positive are ignored.
+     * @param keys The keys of the table.
+     * @param amounts The amounts of the keys.
+     */
+    public static GeneratorTable of(Key[] keys, int[] amounts){
+        Preconditions.checkArgument(keys.length == amounts.length, "Keys and amounts must be in the same length.");
+
+        int size = 0;
+        for(int amount : amounts) {
+            if(amount > 0)
+                size++;
+        }
+
+        if(size == 0)
+            return EMPTY;
+
+        Key[] tableKeys = new Key[size];
+        int[] tableAmounts = new int[size];
+
+        for(int i = 0, index = 0; i < keys.length; i++){
+            if(amounts[i] > 0){
+                tableKeys[index] = keys[i];
+                tableAmounts[index++] = amounts[i];
+            }
+        }
+
+        return new GeneratorTable(tableKeys, tableAmounts);
+    }
+
+    /**
+     * Build a table from the generator amounts of an island.
+     * Keys with an amount that is not positive are ignored.
+     * @param amounts The generator amounts.
+     */
+    public static GeneratorTable of(Map<String, Integer> amounts){
+        Key[] keys = new Key[amounts.size()];
+        int[] keyAmounts = new int[amounts.size()];
+        int index = 0;
+
+        for(Map.Entry<String, Integer> entry : amounts.entrySet()){
+            keys[index] = GeneratorRates.intern(entry.getKey());
+            keyAmounts[index++] = entry.getValue();
+        }
+
+        return of(keys, keyAmounts);
+    }
+
+    /**
+     * Pick a key from the table.
+     * @param random A random value between 0 (inclusive) and 1 (exclusive).
+     * @return The key that was picked, or null if the table is empty.
+     */
+    public Key sample(double random){
+        if(keys.length == 0)
+            return null;
+
+        double scaled = random * keys.length;
+        int column = Math.min((int) scaled, keys.length - 1);
+
+        return scaled - column < probabilities[column] ? keys[column] : keys[aliases[column]];
+    }
+
+    /**
+     * Pick a key from the table.
+     * @param random The random generator to use.
+     * @return The key that was picked, or null if the table is empty.
+     */
+    public Key sample(Random random){
+        if(keys.length == 0)
+            return null;
+
+        int column = random.nextInt(keys.length);
+
+        return random.nextDouble() < probabilities[column] ? keys[column] : keys[aliases[column]];
+    }
+
+    /**
+     * Check whether or not the table is empty.
+     */
+    public boolean isEmpty(){
+        return keys.length == 0;
+    }
+
+    /**
+     * Get the amount of keys in the table.
+     */
+    public int size(){
+        return keys.length;
+    }
+
+    /**
+     * Get a key from the table.
+     * @param index The index of the key.
+     */
+    public Key getKey(int index){
+        return keys[index];
+    }
+
+    /**
+     * Get the amount of a key from the table.
+     * @param index The index of the key.
+     */
+    public int getAmount(int index){
+        return amounts[index];
+    }
+
+    /**
+     * Get the total amount of all the keys together.
+     */
+    public long getTotalAmount(){
+        return totalAmount;
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.bgsoftware.superiorskyblock.api.handlers;
+
+import com.bgsoftware.superiorskyblock.api.data.IslandDataStore;
+import com.bgsoftware.superiorskyblock.api.data.PlayerDataStore;
+import com.bgsoftware.superiorskyblock.api.island.Island;
+import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface DataManager {
+
+    /**
+     * Mark fields of an island as changed.
+     * Setters of the island call this method, and the island is saved in the next flush.
+     * @param island The island that was changed.
+     * @param fields The names of the fields that were changed (for example, "name" or "biome").
+     */
+    void markDirty(Island island, String... fields);
+
+    /**
+     * Mark fields of a player as changed.
+     * Setters of the player call this method, and the player is saved in the next flush.
+     * @param superiorPlayer The player that was changed.
+     * @param fields The names of the fields that were changed (for example, "border_color" or "disbands").
+     */
+    void markDirty(SuperiorPlayer superiorPlayer, String... fields);
+
+    /**
+     * Get the interval (in milliseconds) between flushes.
+     * All the changes that are made within that interval are coalesced into one batch.
+     */
+    long getFlushInterval();
+
+    /**
+     * Save all the pending changes without waiting for the next flush.
+     * @return A future that is completed when the changes were saved.
+     */
+    CompletableFuture<Void> flush();
+
+    /**
+     * Get the amount of islands and players that are waiting to be saved.
+     */
+    int getQueueSize();
+
+    /**
+     * Get the storage that is used for the data of islands.
+     */
+    IslandDataStore getIslandDataStore();
+
+    /**
+     * Set a custom storage for the data of islands.
+     * Should be called before the islands are loaded (on load of your plugin, for example).
+     * Cannot be null.
+     * @param islandDataStore The storage to set.
+     */
+    void setIslandDataStore(IslandDataStore islandDataStore);
+
+    /**
+     * Get the storage that is used for the data of players.
+     */
+    PlayerDataStore getPlayerDataStore();
+
+    /**
+     * Set a custom storage for the data of players.
+     * Should be called before the players are loaded (on load of your plugin, for example).
+     * Cannot be null.
+     * @param playerDataStore The storage to set.
+     */
+    void setPlayerDataStore(PlayerDataStore playerDataStore);
+
+}
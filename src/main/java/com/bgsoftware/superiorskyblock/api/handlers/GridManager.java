@@ -63,11 +63,21 @@ public interface GridManager {
 
     /**
      * Get the island of a specific player.
+     * The lookup is done using the members index, without locking.
      * @param superiorPlayer The player to check.
      * @return The island of the player. May be null.
      */
     Island getIsland(SuperiorPlayer superiorPlayer);
 
+    /**
+     * Get the island of a specific player by their uuid.
+     * Works for both the owner and the members of the island.
+     * The lookup is done using the members index, without locking.
+     * @param uuid The uuid of the player.
+     * @return The island of the player. May be null.
+     */
+    Island getIslandByMember(UUID uuid);
+
     /**
      * Get the island in a specific position from the top-worth list.
      * Positions are starting from 0.
@@ -106,11 +116,36 @@ public interface GridManager {
 
     /**
      * Get an island by it's name.
+     * Names are matched by their raw form - color codes are stripped and case is ignored.
+     * The lookup is done using an index of the island names.
      * @param islandName The name to check.
      * @return The island with that name. May be null.
      */
     Island getIsland(String islandName);
 
+    /**
+     * Check whether or not an island with a specific name exists.
+     * Names are matched the same way as getIsland(String).
+     * @param islandName The name to check.
+     */
+    boolean isIslandNameTaken(String islandName);
+
+    /**
+     * Update the name index of an island.
+     * Called by Island.setName(String) when the name of the island has changed.
+     * @param island The island that its name has changed.
+     * @param oldName The previous name of the island. May be null.
+     */
+    void updateIslandName(Island island, String oldName);
+
+    /**
+     * Get the names of the islands that start with a specific prefix, ordered alphabetically.
+     * The lookup is case-insensitive and uses an index of the island names, so it can be used for tab-completion.
+     * @param prefix The prefix to check.
+     * @param limit The maximum amount of names to return.
+     */
+    List<String> getIslandNames(String prefix, int limit);
+
     /**
      * Get an island at an exact position in the world.
      * @param location The position to check.
@@ -125,8 +160,20 @@ public interface GridManager {
      */
     Island getIslandAt(Chunk chunk);
 
+    /**
+     * Get all the islands that their area overlaps a chunk.
+     * The chunk doesn't need to be loaded.
+     * @param world The world of the chunk.
+     * @param chunkX The x coordinate of the chunk.
+     * @param chunkZ The z coordinate of the chunk.
+     * @return The islands that overlap the chunk. May be empty.
+     */
+    List<Island> getIslandsAt(World world, int chunkX, int chunkZ);
+
     /**
      * Transfer an island's leadership to another owner.
+     * The members index and the owners index are updated atomically, so lookups
+     * that are made during the transfer return either the old state or the new state.
      * @param oldOwner The old owner of the island.
      * @param newOwner The new owner of the island.
      */
@@ -137,6 +184,19 @@ public interface GridManager {
      */
     int getSize();
 
+    /**
+     * Unload the data of all the islands that were idle for longer than getIslandsIdleTime().
+     * Unloaded islands are kept in a compact form, and their data is loaded again on first access.
+     * @return The amount of islands that were unloaded.
+     */
+    int unloadIdleIslands();
+
+    /**
+     * Get the amount of time (in milliseconds) islands are kept fully loaded since their last update.
+     * A negative value means islands are never unloaded.
+     */
+    long getIslandsIdleTime();
+
     /**
      * Sort the islands.
      * @param sortingType The sorting type to use.
@@ -239,6 +299,19 @@ public interface GridManager {
      */
     void calcAllIslands(Runnable callback);
 
+    /**
+     * Set whether or not worth updates should be coalesced.
+     * When enabled, all the worth updates of an island during a tick are merged into one
+     * IslandWorthUpdateEvent that is called at the end of the tick. See IslandWorthUpdateEvent.getChangeCount()
+     * @param coalesceWorthUpdates The new state.
+     */
+    void setCoalesceWorthUpdates(boolean coalesceWorthUpdates);
+
+    /**
+     * Check whether or not worth updates are coalesced.
+     */
+    boolean isCoalesceWorthUpdates();
+
     /**
      * Checks whether or not the material is a spawner.
      * @param material The material to check.
@@ -1,9 +1,14 @@
 package com.bgsoftware.superiorskyblock.api.handlers;
 
 import com.bgsoftware.superiorskyblock.api.missions.Mission;
+import com.bgsoftware.superiorskyblock.api.missions.MissionsGraph;
+import com.bgsoftware.superiorskyblock.api.missions.RequiredChecksCache;
 import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
+import org.bukkit.event.Event;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface MissionsManager {
 
@@ -19,6 +24,12 @@ public interface MissionsManager {
      */
     List<Mission> getAllMissions();
 
+    /**
+     * Get the dependency graph of the required missions.
+     * The graph is compiled when the missions are loaded.
+     */
+    MissionsGraph getMissionsGraph();
+
     /**
      * Get a list of all missions that are player missions.
      */
@@ -29,6 +40,12 @@ public interface MissionsManager {
      */
     List<Mission> getIslandMissions();
 
+    /**
+     * Get the missions that are subscribed to an event type (or to one of its super-classes).
+     * @param eventType The event type to check.
+     */
+    List<Mission> getSubscribedMissions(Class<? extends Event> eventType);
+
     /**
      * Check whether or not the player has already completed the mission.
      * @param superiorPlayer The player to check.
@@ -63,6 +80,7 @@ public interface MissionsManager {
 
     /**
      * Check whether or not a player has all the required missions to complete a mission.
+     * The check is done using the missions graph, see getMissionsGraph()
      * @param superiorPlayer The player to check.
      * @param mission The mission to check.
      * @return True if player has all required missions, otherwise false.
@@ -71,12 +89,21 @@ public interface MissionsManager {
 
     /**
      * Check whether or not a player can pass all the checks to complete a mission.
+     * The compiled checks of the mission are evaluated, and their results are cached in getRequiredChecksCache().
      * @param superiorPlayer The player to check.
      * @param mission The mission to check.
      * @return True if player can pass all checks, otherwise false.
      */
     boolean canPassAllChecks(SuperiorPlayer superiorPlayer, Mission mission);
 
+    /**
+     * Get the cache of the results of the required checks.
+     * The cache should be invalidated when data that is referenced by checks is changed
+     * (balance, island level, permissions, etc). Only checks that their placeholders were registered
+     * using RequiredChecksCache.registerInvalidationSource(String) are cached.
+     */
+    RequiredChecksCache getRequiredChecksCache();
+
     /**
      * Reward a player for completing a specific mission.
      * @param mission The mission that was completed.
@@ -100,6 +127,37 @@ public interface MissionsManager {
      */
     void saveMissionsData();
 
+    /**
+     * Save the progress that was marked as changed since the last save.
+     * The progress is saved on the I/O thread, using Mission.saveProgress(UUID)
+     * @return A future that is completed when the progress was saved.
+     */
+    CompletableFuture<Void> saveMissionsDataAsync();
+
+    /**
+     * Mark the progress of a player (or island, for island missions) in a mission as changed.
+     * @param mission The mission that its progress was changed.
+     * @param uuid The uuid of the player, or the uuid of the island owner for island missions.
+     */
+    void markProgressDirty(Mission mission, UUID uuid);
+
+    /**
+     * Load the progress of a player (or island, for island missions) in all the missions, if not loaded already.
+     * Called automatically on the first access to the missions of the player or the island.
+     * @param uuid The uuid of the player, or the uuid of the island owner for island missions.
+     * @return A future that is completed when the progress was loaded.
+     */
+    CompletableFuture<Void> loadMissionsData(UUID uuid);
+
+    /**
+     * Unload the progress of a player (or island, for island missions) from memory.
+     * The cached progress of all the missions is cleared, see Mission.invalidateProgress(UUID)
+     * The cached results of the required checks of the player are cleared as well, see RequiredChecksCache.invalidate(UUID)
+     * Called when a player is unloaded, see PlayersManager.unloadIdlePlayers()
+     * @param uuid The uuid of the player, or the uuid of the island owner for island missions.
+     */
+    void unloadMissionsData(UUID uuid);
+
     /**
      * Load all data related to missions.
      * All the data is loaded from a yaml file.
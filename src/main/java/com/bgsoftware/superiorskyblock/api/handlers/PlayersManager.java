@@ -5,11 +5,14 @@ import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface PlayersManager {
 
     /**
      * Get a player by it's name.
+     * The lookup is case-insensitive, and is done using an index of the last known names of the players.
+     * If the player is not loaded into memory, it will be loaded from the database.
      * @param name The name to check.
      * @return The player with that name. May be null.
      */
@@ -17,6 +20,7 @@ public interface PlayersManager {
 
     /**
      * Get a player by it's uuid.
+     * If the player is not loaded into memory, it will be loaded from the database.
      * @param uuid The uuid to check.
      * @return The player with that uuid.
      */
@@ -24,9 +28,61 @@ public interface PlayersManager {
 
     /**
      * Get all the players that joined the server.
+     * Players that are not loaded into memory are loaded from the database, so the call may block for a while
+     * when many players were unloaded. If you only need the players that are in memory, see getLoadedPlayers()
      */
     List<SuperiorPlayer> getAllPlayers();
 
+    /**
+     * Get the names of the players that start with a specific prefix, ordered alphabetically.
+     * The lookup is case-insensitive and uses the name index, so it can be used for tab-completion.
+     * @param prefix The prefix to check.
+     * @param limit The maximum amount of names to return.
+     */
+    List<String> getPlayerNames(String prefix, int limit);
+
+    /**
+     * Get all the players that are currently loaded into memory.
+     * Offline players that were idle for longer than getPlayersIdleTime() may not be included.
+     */
+    List<SuperiorPlayer> getLoadedPlayers();
+
+    /**
+     * Check whether or not a player is currently loaded into memory.
+     * @param uuid The uuid of the player to check.
+     */
+    boolean isPlayerLoaded(UUID uuid);
+
+    /**
+     * Load a player from the database without blocking the calling thread.
+     * If the player is already loaded, the returned future will be completed instantly.
+     * @param uuid The uuid of the player to load.
+     * @return A future that will be completed with the player. The player may be null if never joined the server.
+     */
+    CompletableFuture<SuperiorPlayer> loadSuperiorPlayer(UUID uuid);
+
+    /**
+     * Unload all the offline players that were idle for longer than getPlayersIdleTime().
+     * The players are kept in the name index, and will be loaded again on their next access.
+     * The missions progress of the players is unloaded as well, see MissionsManager.unloadMissionsData(UUID)
+     * @return The amount of players that were unloaded.
+     */
+    int unloadIdlePlayers();
+
+    /**
+     * Get the amount of time (in milliseconds) offline players are kept in memory since their last status update.
+     * A negative value means players are never unloaded.
+     */
+    long getPlayersIdleTime();
+
+    /**
+     * Update the name index of a player.
+     * Called by SuperiorPlayer.updateName() when the name of the player has changed.
+     * @param superiorPlayer The player that its name has changed.
+     * @param oldName The previous name of the player. May be null.
+     */
+    void updatePlayerName(SuperiorPlayer superiorPlayer, String oldName);
+
     /**
      * Get a player role by it's weight.
      * @param weight The weight to check.
@@ -1,10 +1,15 @@
 package com.bgsoftware.superiorskyblock.api.island;
 
 import com.bgsoftware.superiorskyblock.api.enums.Rating;
+import com.bgsoftware.superiorskyblock.api.generator.GeneratorRates;
+import com.bgsoftware.superiorskyblock.api.generator.GeneratorRoller;
+import com.bgsoftware.superiorskyblock.api.generator.GeneratorTable;
 import com.bgsoftware.superiorskyblock.api.key.Key;
 import com.bgsoftware.superiorskyblock.api.missions.Mission;
+import com.bgsoftware.superiorskyblock.api.missions.MissionsCompletion;
 import com.bgsoftware.superiorskyblock.api.upgrades.Upgrade;
 import com.bgsoftware.superiorskyblock.api.upgrades.UpgradeLevel;
+import com.bgsoftware.superiorskyblock.api.wrappers.BlockPosition;
 import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
@@ -87,6 +92,7 @@ public interface Island extends Comparable<Island> {
 
     /**
      * Add a player to the island.
+     * The player is added to the members index of the grid.
      * @param superiorPlayer The player to add.
      * @param playerRole The role to give to the player.
      */
@@ -94,6 +100,7 @@ public interface Island extends Comparable<Island> {
 
     /**
      * Kick a member from the island.
+     * The player is removed from the members index of the grid.
      * @param superiorPlayer The player to kick.
      */
     void kickMember(SuperiorPlayer superiorPlayer);
@@ -171,10 +178,19 @@ public interface Island extends Comparable<Island> {
 
     /**
      * Get the center location of the island, depends on the world environment.
+     * A new location is returned on every call, see getCenterPosition(Environment)
      * @param environment The environment.
      */
     Location getCenter(World.Environment environment);
 
+    /**
+     * Get the center position of the island, depends on the world environment.
+     * The position holds the block coordinates of the center, and is immutable and cached, so it can be used
+     * without creating locations.
+     * @param environment The environment.
+     */
+    BlockPosition getCenterPosition(World.Environment environment);
+
     /**
      * Get the members' teleport location of the island.
      *
@@ -208,21 +224,25 @@ public interface Island extends Comparable<Island> {
 
     /**
      * Get the minimum location of the island.
+     * A new location is returned on every call, see getBounds()
      */
     Location getMinimum();
 
     /**
      * Get the minimum protected location of the island.
+     * A new location is returned on every call, see getProtectedBounds()
      */
     Location getMinimumProtected();
 
     /**
      * Get the maximum location of the island.
+     * A new location is returned on every call, see getBounds()
      */
     Location getMaximum();
 
     /**
      * Get the minimum protected location of the island.
+     * A new location is returned on every call, see getProtectedBounds()
      */
     Location getMaximumProtected();
 
@@ -332,6 +352,46 @@ public interface Island extends Comparable<Island> {
      */
     boolean isInsideRange(Location location, int extraRadius);
 
+    /**
+     * Check if a position is inside the island's area.
+     * The check is done using the cached bounds of the island, without creating locations.
+     * @param world The world of the position.
+     * @param x The x coordinate of the position.
+     * @param z The z coordinate of the position.
+     */
+    boolean isInside(World world, int x, int z);
+
+    /**
+     * Check if a position is inside the island's protected area.
+     * The check is done using the cached bounds of the island, without creating locations.
+     * @param world The world of the position.
+     * @param x The x coordinate of the position.
+     * @param z The z coordinate of the position.
+     */
+    boolean isInsideRange(World world, int x, int z);
+
+    /**
+     * Check if a position is inside the island's protected area.
+     * The check is done using the cached bounds of the island, without creating locations.
+     * @param world The world of the position.
+     * @param x The x coordinate of the position.
+     * @param z The z coordinate of the position.
+     * @param extraRadius Add extra radius to the protected range.
+     */
+    boolean isInsideRange(World world, int x, int z, int extraRadius);
+
+    /**
+     * Get the bounds of the island's area.
+     * The bounds are cached, and are recalculated only when the size of the island is changed.
+     */
+    IslandBounds getBounds();
+
+    /**
+     * Get the bounds of the island's protected area.
+     * The bounds are cached, and are recalculated only when the size of the island is changed.
+     */
+    IslandBounds getProtectedBounds();
+
     /**
      * Check if the chunk is inside the island's protected area.
      * @param chunk The chunk to check.
@@ -492,6 +552,7 @@ public interface Island extends Comparable<Island> {
 
     /**
      * Set the name of the island.
+     * The name index of the grid is updated as well.
      * @param islandName The name to set.
      */
     void setName(String islandName);
@@ -509,11 +570,15 @@ public interface Island extends Comparable<Island> {
 
     /**
      * Disband the island.
+     * All the members of the island are removed from the members index of the grid.
      */
     void disbandIsland();
 
     /**
      * Transfer the island's leadership to another player.
+     * The members index of the grid is updated atomically, so getIsland() and getIslandLeader()
+     * of the members never disagree during the transfer.
+     * The cached progress of island missions is moved to the new owner, see Mission.transferCachedProgress(UUID, UUID)
      * @param superiorPlayer The player to transfer the leadership to.
      * @return True if the transfer was succeed, otherwise false.
      */
@@ -544,6 +609,7 @@ public interface Island extends Comparable<Island> {
 
     /**
      * Set the radius of the island.
+     * The cached bounds of the island are recalculated, see getProtectedBounds()
      * @param islandSize The radius for the island.
      */
     void setIslandSize(int islandSize);
@@ -618,9 +684,25 @@ public interface Island extends Comparable<Island> {
 
     /**
      * Get the last time the island was updated.
+     * Used to detect idle islands, see GridManager.getIslandsIdleTime()
      */
     long getLastTimeUpdate();
 
+    /**
+     * Check whether or not all the data of the island is loaded into memory.
+     * Islands that were idle for longer than GridManager.getIslandsIdleTime() are kept in a compact form,
+     * which only contains the data needed for the top lists (worth, level, rating and owner).
+     * The rest of the data is loaded again on the first access to it through this interface.
+     */
+    boolean isDataLoaded();
+
+    /**
+     * Get the modification epoch of the island.
+     * The epoch is increased every time the data of the island is changed, and is used
+     * to detect islands that should be written in incremental snapshots.
+     */
+    long getModificationEpoch();
+
     /*
      *  Bank related methods
      */
@@ -1023,6 +1105,14 @@ public interface Island extends Comparable<Island> {
      */
     List<String> getAllWarps();
 
+    /**
+     * Get the names of the warps that start with a specific prefix, ordered alphabetically.
+     * The lookup is case-insensitive, so it can be used for tab-completion.
+     * @param prefix The prefix to check.
+     * @param limit The maximum amount of names to return.
+     */
+    List<String> getAllWarps(String prefix, int limit);
+
     /**
      * Check whether or not the island can create more warps.
      */
@@ -1095,10 +1185,19 @@ public interface Island extends Comparable<Island> {
     int getAmountMissionCompleted(Mission mission);
 
     /**
-     * Get the list of the completed missions of the player.
+     * Get the list of the completed missions of the island.
+     *
+     * @deprecated See getMissionsCompletion()
      */
+    @Deprecated
     List<Mission> getCompletedMissions();
 
+    /**
+     * Get the completed missions of the island.
+     * The returned object is live, and is not copied on every call.
+     */
+    MissionsCompletion getMissionsCompletion();
+
     /*
      *  Settings related methods
      */
@@ -1171,7 +1270,10 @@ public interface Island extends Comparable<Island> {
 
     /**
      * Get the percentages of the materials for the cobblestone generator in the island.
+     *
+     * @deprecated See getGeneratorRates(Environment)
      */
+    @Deprecated
     Map<String, Integer> getGeneratorPercentages();
 
     /**
@@ -1186,19 +1288,51 @@ public interface Island extends Comparable<Island> {
 
     /**
      * Get the total amount of all the generator keys together.
+     * The total is capped at Integer.MAX_VALUE.
+     *
+     * @deprecated The total can overflow an int, see getGeneratorRates(Environment).getTotalAmount()
      */
+    @Deprecated
     int getGeneratorTotalAmount();
 
     /**
      * Get the amounts of the materials for the cobblestone generator in the island.
+     *
+     * @deprecated See getGeneratorRates(Environment)
      */
+    @Deprecated
     Map<String, Integer> getGeneratorAmounts();
 
+    /**
+     * Get the generator rates of the island, depends on the world environment.
+     * The returned snapshot is immutable, and is replaced by a new version when the generator amounts are changed.
+     * @param environment The environment of the generator.
+     */
+    GeneratorRates getGeneratorRates(World.Environment environment);
+
     /**
      * Get an array of materials for the cobblestone generator.
+     *
+     * @deprecated See getGeneratorTable(Environment)
      */
+    @Deprecated
     String[] getGeneratorArray();
 
+    /**
+     * Get the table of the cobblestone generator, for picking the blocks that are formed.
+     * The table is cached, and is rebuilt lazily on the first call after the generator amounts are changed.
+     * See GeneratorRates.getTable()
+     * @param environment The environment of the generator.
+     */
+    GeneratorTable getGeneratorTable(World.Environment environment);
+
+    /**
+     * Get the roller of the cobblestone generator, for picking the blocks that are formed.
+     * The roller pre-rolls outcomes from getGeneratorTable(Environment) in batches.
+     * @param environment The environment of the generator.
+     */
+    GeneratorRoller getGeneratorRoller(World.Environment environment);
+
     /**
      * Clear all the custom generator amounts for this island.
      */
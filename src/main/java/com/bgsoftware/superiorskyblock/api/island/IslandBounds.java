@@ -0,0 +1,121 @@
+package com.bgsoftware.superiorskyblock.api.island;
+
+/**
+ * Immutable bounds of an island area, in block coordinates.
+ * Both the minimum and the maximum coordinates are inclusive.
+ *
+ * Islands should keep their bounds cached and create new bounds only when the size of the island
+ * is changed, so checking positions doesn't require creating or cloning locations.
+ */
+public final class IslandBounds {
+
+    private final int minX, minZ, maxX, maxZ;
+
+    private IslandBounds(int minX, int minZ, int maxX, int maxZ){
+        this.minX = minX;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * Create new bounds.
+     * @param minX The minimum x coordinate.
+     * @param minZ The minimum z coordinate.
+     * @param maxX The maximum x coordinate.
+     * @param maxZ The maximum z coordinate.
+     */
+    public static IslandBounds of(int minX, int minZ, int maxX, int maxZ){
+        return new IslandBounds(Math.min(minX, maxX), Math.min(minZ, maxZ), Math.max(minX, maxX), Math.max(minZ, maxZ));
+    }
+
+    /**
+     * Create the bounds of a square area around a center.
+     * @param centerX The x coordinate of the center.
+     * @param centerZ The z coordinate of the center.
+     * @param radius The radius of the area.
+     */
+    public static IslandBounds around(int centerX, int centerZ, int radius){
+        return new IslandBounds(centerX - radius, centerZ - radius, centerX + radius, centerZ + radius);
+    }
+
+    /**
+     * Get the minimum x coordinate.
+     */
+    public int getMinX(){
+        return minX;
+    }
+
+    /**
+     * Get the minimum z coordinate.
+     */
+    public int getMinZ(){
+        return minZ;
+    }
+
+    /**
+     * Get the maximum x coordinate.
+     */
+    public int getMaxX(){
+        return maxX;
+    }
+
+    /**
+     * Get the maximum z coordinate.
+     */
+    public int getMaxZ(){
+        return maxZ;
+    }
+
+    /**
+     * Check whether or not a position is inside the bounds.
+     * @param x The x coordinate of the position.
+     * @param z The z coordinate of the position.
+     */
+    public boolean contains(int x, int z){
+        return x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+    }
+
+    /**
+     * Check whether or not a position is inside the bounds, expanded by an extra radius.
+     * @param x The x coordinate of the position.
+     * @param z The z coordinate of the position.
+     * @param extraRadius The extra radius to add to the bounds.
+     */
+    public boolean contains(int x, int z, int extraRadius){
+        return x >= minX - extraRadius && x <= maxX + extraRadius && z >= minZ - extraRadius && z <= maxZ + extraRadius;
+    }
+
+    /**
+     * Check whether or not a chunk is overlapping the bounds.
+     * @param chunkX The x coordinate of the chunk.
+     * @param chunkZ The z coordinate of the chunk.
+     */
+    public boolean containsChunk(int chunkX, int chunkZ){
+        return chunkX >= minX >> 4 && chunkX <= maxX >> 4 && chunkZ >= minZ >> 4 && chunkZ <= maxZ >> 4;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(!(obj instanceof IslandBounds))
+            return false;
+
+        IslandBounds other = (IslandBounds) obj;
+        return minX == other.minX && minZ == other.minZ && maxX == other.maxX && maxZ == other.maxZ;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = minX;
+        result = 31 * result + minZ;
+        result = 31 * result + maxX;
+        result = 31 * result + maxZ;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "IslandBounds{" + minX + ", " + minZ + " -> " + maxX + ", " + maxZ + "}";
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.bgsoftware.superiorskyblock.api.island;
+
+import com.bgsoftware.superiorskyblock.api.SuperiorSkyblockAPI;
+import com.bgsoftware.superiorskyblock.api.handlers.GridManager;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tracks the island that a player is currently inside, for detecting entering and leaving islands.
+ * The tracker caches the chunk of the player, the bounds of the current island and the islands that overlap
+ * the chunk, so most movements are resolved by comparing the new position against the cached bounds.
+ * The island is looked up in the grid only when the player leaves the cached island area, changes worlds,
+ * moves to another chunk outside of islands, or moves inside a chunk that overlaps an island.
+ *
+ * The tracker should be invalidated when the bounds of an island around the player change (size upgrades, for example),
+ * or when an island around the player is created or deleted.
+ */
+public final class IslandPositionTracker {
+
+    private World world = null;
+    private int chunkX, chunkZ;
+    private Island island = null;
+    private boolean insideProtected = false;
+
+    private IslandBounds bounds, protectedBounds;
+    // The islands that overlap the cached chunk, used when the player is outside of islands.
+    private List<Island> chunkIslands = Collections.emptyList();
+
+    /**
+     * Update the position of the player.
+     * @param location The new location of the player.
+     * @return The transition that was made by moving to the location.
+     *         If the player didn't enter or leave an island or its protected area, Transition.NONE is returned.
+     */
+    public synchronized Transition move(Location location){
+        World world = location.getWorld();
+        int blockX = location.getBlockX(), blockZ = location.getBlockZ();
+        int chunkX = blockX >> 4, chunkZ = blockZ >> 4;
+
+        if(world == this.world){
+            if(island != null && bounds.contains(blockX, blockZ)){
+                this.chunkX = chunkX;
+                this.chunkZ = chunkZ;
+
+                boolean insideProtected = protectedBounds.contains(blockX, blockZ);
+
+                if(insideProtected == this.insideProtected)
+                    return Transition.NONE;
+
+                this.insideProtected = insideProtected;
+                return new Transition(island, island, !insideProtected, insideProtected);
+            }
+            else if(island == null && chunkX == this.chunkX && chunkZ == this.chunkZ && isOutsideIslands(blockX, blockZ)){
+                return Transition.NONE;
+            }
+        }
+
+        Island previousIsland = island;
+        boolean wasInsideProtected = insideProtected;
+
+        this.world = world;
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+
+        GridManager grid = SuperiorSkyblockAPI.getGrid();
+        Island island = grid.getIslandAt(location);
+        setIsland(island);
+
+        // Islands and their protected areas don't have to be aligned to chunks, so moves outside of islands
+        // can be resolved without the grid only if they are outside of all the islands that overlap the chunk.
+        chunkIslands = island == null ? grid.getIslandsAt(world, chunkX, chunkZ) : Collections.emptyList();
+
+        insideProtected = island != null && protectedBounds.contains(blockX, blockZ);
+
+        if(previousIsland == island && wasInsideProtected == insideProtected)
+            return Transition.NONE;
+
+        boolean sameIsland = previousIsland == island;
+        return new Transition(previousIsland, island, wasInsideProtected && (!sameIsland || !insideProtected),
+                insideProtected && (!sameIsland || !wasInsideProtected));
+    }
+
+    /**
+     * Get the island that the player is currently inside. May be null.
+     */
+    public synchronized Island getIsland(){
+        return island;
+    }
+
+    /**
+     * Check whether or not the player is currently inside the protected area of the island.
+     */
+    public synchronized boolean isInsideProtected(){
+        return insideProtected;
+    }
+
+    /**
+     * Clear the cached position, so the next move does a full check.
+     * The current island is kept, so the next move reports leaving it if needed.
+     */
+    public synchronized void invalidate(){
+        world = null;
+    }
+
+    private boolean isOutsideIslands(int blockX, int blockZ){
+        for(Island chunkIsland : chunkIslands){
+            if(chunkIsland.getBounds().contains(blockX, blockZ))
+                return false;
+        }
+
+        return true;
+    }
+
+    private void setIsland(Island island){
+        this.island = island;
+
+        if(island != null) {
+            bounds = island.getBounds();
+            protectedBounds = island.getProtectedBounds();
+        }
+    }
+
+    /**
+     * A change of the island a player is inside.
+     * Entering a new island is reported with the previous island (which may be null), and leaving an
+     * island is reported with a null island.
+     */
+    public static final class Transition {
+
+        /**
+         * A transition that represents no change.
+         */
+        public static final Transition NONE = new Transition(null, null, false, false);
+
+        private final Island previousIsland, island;
+        private final boolean leftProtected, enteredProtected;
+
+        private Transition(Island previousIsland, Island island, boolean leftProtected, boolean enteredProtected){
+            this.previousIsland = previousIsland;
+            this.island = island;
+            this.leftProtected = leftProtected;
+            this.enteredProtected = enteredProtected;
+        }
+
+        /**
+         * Get the island that the player was inside before the move. May be null.
+         */
+        public Island getPreviousIsland() {
+            return previousIsland;
+        }
+
+        /**
+         * Get the island that the player is inside after the move. May be null.
+         */
+        public Island getIsland() {
+            return island;
+        }
+
+        /**
+         * Check whether or not the player moved into another island (or out of an island).
+         */
+        public boolean isIslandChanged() {
+            return previousIsland != island;
+        }
+
+        /**
+         * Check whether or not the player left the protected area of the previous island.
+         */
+        public boolean hasLeftProtected() {
+            return leftProtected;
+        }
+
+        /**
+         * Check whether or not the player entered the protected area of the current island.
+         */
+        public boolean hasEnteredProtected() {
+            return enteredProtected;
+        }
+
+    }
+
+}
@@ -1,22 +1,35 @@
 package com.bgsoftware.superiorskyblock.api.missions;
 
 import com.bgsoftware.superiorskyblock.api.SuperiorSkyblockAPI;
+import com.bgsoftware.superiorskyblock.api.island.Island;
 import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.event.Event;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class Mission {
 
     private String name = null;
     private List<String> requiredMissions = new ArrayList<>();
     private List<String> requiredChecks = new ArrayList<>();
+    private List<RequiredCheck> compiledChecks = new ArrayList<>();
     private boolean onlyShowIfRequiredCompleted = false;
+    private boolean islandMission = false;
+    private int index = -1;
+    private MissionsGraph missionsGraph = null;
+
+    private final Map<UUID, Double> cachedProgress = new ConcurrentHashMap<>();
 
     /**
      * Set the name of the mission.
@@ -34,6 +47,29 @@ public abstract class Mission {
         return name;
     }
 
+    /**
+     * Get the index of the mission in the missions graph.
+     * Indexes are dense (starting from 0), and are given when the graph is compiled.
+     * Indexes may change when the missions are compiled again, see getMissionsGraph()
+     * @return The index of the mission, or -1 if the mission wasn't compiled yet.
+     */
+    public int getIndex(){
+        return index;
+    }
+
+    /**
+     * Get the missions graph that the mission was last compiled into.
+     * @return The missions graph, or null if the mission wasn't compiled yet.
+     */
+    public MissionsGraph getMissionsGraph(){
+        return missionsGraph;
+    }
+
+    void setIndex(MissionsGraph missionsGraph, int index){
+        this.missionsGraph = missionsGraph;
+        this.index = index;
+    }
+
     /**
      * Add required missions for completing this mission.
      * @param missions The array of required missions.
@@ -44,11 +80,14 @@ public abstract class Mission {
 
     /**
      * Add required check for completing this mission.
-     * These checks have placeholders support.
+     * These checks have placeholders support, and are compiled when they are added.
      * @param checks The array of required missions.
      */
     public void addRequiredCheck(String... checks){
-        requiredChecks.addAll(Arrays.asList(checks));
+        for(String check : checks){
+            requiredChecks.add(check);
+            compiledChecks.add(RequiredCheck.compile(check));
+        }
     }
 
     /**
@@ -65,6 +104,13 @@ public abstract class Mission {
         return new ArrayList<>(requiredChecks);
     }
 
+    /**
+     * Get the compiled required checks for completing this mission.
+     */
+    public List<RequiredCheck> getCompiledRequiredChecks(){
+        return Collections.unmodifiableList(compiledChecks);
+    }
+
     /**
      * Toggle the onlyShowIfRequiredCompleted flag.
      */
@@ -80,6 +126,23 @@ public abstract class Mission {
         return onlyShowIfRequiredCompleted;
     }
 
+    /**
+     * Set whether or not the mission is an island mission.
+     * Called by the missions manager when the mission is loaded.
+     * @param islandMission The new flag.
+     */
+    public void setIslandMission(boolean islandMission){
+        this.islandMission = islandMission;
+    }
+
+    /**
+     * Check whether or not the mission is an island mission.
+     * The progress of island missions is shared by all the members of the island.
+     */
+    public boolean isIslandMission(){
+        return islandMission;
+    }
+
     /**
      * The load function of the mission.
      * @param plugin The plugin that loaded the mission (The SuperiorSkyblock's JavaPlugin class)
@@ -104,6 +167,78 @@ public abstract class Mission {
         return 0;
     }
 
+    /**
+     * Get the progress of a specific player, from the progress cache.
+     * The cache is only used for event-driven missions (missions that are subscribed to events),
+     * and is cleared for a player using invalidateProgress(UUID) when the progress of the player has changed.
+     * For other missions, getProgress(SuperiorPlayer) is called directly.
+     * Progress of island missions is cached once per island, by the uuid of the island owner.
+     * @param superiorPlayer The player to check.
+     */
+    public final double getCachedProgress(SuperiorPlayer superiorPlayer){
+        if(getSubscribedEvents().isEmpty())
+            return getProgress(superiorPlayer);
+
+        return cachedProgress.computeIfAbsent(getProgressUUID(superiorPlayer), uuid -> getProgress(superiorPlayer));
+    }
+
+    /**
+     * Clear the cached progress of a player.
+     * Should be called by event-driven missions whenever they update the progress of a player.
+     * Also called by the missions manager when a player (or an island, for island missions) is unloaded,
+     * see MissionsManager.unloadMissionsData(UUID)
+     * @param uuid The uuid of the player, or the uuid of the island owner for island missions.
+     */
+    public void invalidateProgress(UUID uuid){
+        cachedProgress.remove(uuid);
+    }
+
+    /**
+     * Move the cached progress of an island mission to the uuid of the new owner of the island.
+     * Island missions are cached by the uuid of the island owner, so the cache must be moved when the
+     * leadership of the island is transferred - otherwise the old owner would see the progress of the island
+     * in a new island. Called before transferData(SuperiorPlayer, SuperiorPlayer), see Island.transferIsland(SuperiorPlayer)
+     * @param oldOwner The uuid of the old owner of the island.
+     * @param newOwner The uuid of the new owner of the island.
+     */
+    public final void transferCachedProgress(UUID oldOwner, UUID newOwner){
+        if(!islandMission)
+            return;
+
+        Double progress = cachedProgress.remove(oldOwner);
+
+        if(progress != null)
+            cachedProgress.put(newOwner, progress);
+        else
+            cachedProgress.remove(newOwner);
+    }
+
+    /**
+     * Clear the cached progress of all the players.
+     */
+    public void invalidateProgress(){
+        cachedProgress.clear();
+    }
+
+    /**
+     * Get the event types that the mission listens to.
+     * The missions manager routes these events (and their sub-classes) to onEvent(Event), so
+     * missions can update their progress incrementally instead of recalculating it on every check.
+     * Missions that return an empty collection are treated as polling missions, and their progress is not cached.
+     */
+    public Collection<Class<? extends Event>> getSubscribedEvents(){
+        return Collections.emptyList();
+    }
+
+    /**
+     * A function that is called for every event that the mission is subscribed to.
+     * See getSubscribedEvents()
+     * @param event The event that was called.
+     */
+    public void onEvent(Event event){
+
+    }
+
     /**
      * Check whether or not a player can complete the mission.
      * @param superiorPlayer The player to check.
@@ -112,7 +247,7 @@ public abstract class Mission {
         if(!SuperiorSkyblockAPI.getSuperiorSkyblock().getGrid().isIslandsWorld(superiorPlayer.getWorld()))
             return false;
 
-        return getProgress(superiorPlayer) >= 1.0;
+        return getCachedProgress(superiorPlayer) >= 1.0;
     }
 
     /**
@@ -131,6 +266,36 @@ public abstract class Mission {
 
     }
 
+    /**
+     * Save the progress of a specific player (or island, for island missions).
+     * This method is called from the I/O thread, and only for progress that was marked using markDirty(UUID).
+     * Missions that override this method should not save their progress in saveProgress(ConfigurationSection).
+     * @param uuid The uuid of the player, or the uuid of the island owner for island missions.
+     * @return The progress in a compact form, or null if there's no progress to save.
+     */
+    public byte[] saveProgress(UUID uuid){
+        return null;
+    }
+
+    /**
+     * Load the progress of a specific player (or island, for island missions).
+     * This method is called lazily, on the first access to the missions of the player or the island.
+     * @param uuid The uuid of the player, or the uuid of the island owner for island missions.
+     * @param data The progress, as returned from saveProgress(UUID)
+     */
+    public void loadProgress(UUID uuid, byte[] data){
+
+    }
+
+    /**
+     * Mark the progress of a player (or island, for island missions) as changed.
+     * The progress will be saved using saveProgress(UUID) in the next save.
+     * @param uuid The uuid of the player, or the uuid of the island owner for island missions.
+     */
+    protected void markDirty(UUID uuid){
+        SuperiorSkyblockAPI.getMissions().markProgressDirty(this, uuid);
+    }
+
     /**
      * A function that is called when a player is completing the mission.
      * @param superiorPlayer The player that completed the mission.
@@ -171,6 +336,16 @@ public abstract class Mission {
 
     }
 
+    private UUID getProgressUUID(SuperiorPlayer superiorPlayer){
+        if(islandMission){
+            Island island = superiorPlayer.getIsland();
+            if(island != null)
+                return island.getOwner().getUniqueId();
+        }
+
+        return superiorPlayer.getUniqueId();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,71 @@
+package com.bgsoftware.superiorskyblock.api.missions;
+
+import org.bukkit.event.Event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index of the missions that are subscribed to every event type.
+ * Used for routing events only to the missions that listen to them, instead of notifying all the missions.
+ */
+public final class MissionSubscriptions {
+
+    private final Map<Class<? extends Event>, List<Mission>> subscriptions = new HashMap<>();
+    private final Map<Class<?>, List<Mission>> resolvedSubscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * Build the index from a list of missions.
+     * @param missions The missions to index.
+     */
+    public MissionSubscriptions(Collection<Mission> missions){
+        for(Mission mission : missions){
+            for(Class<? extends Event> eventType : mission.getSubscribedEvents())
+                subscriptions.computeIfAbsent(eventType, t -> new ArrayList<>()).add(mission);
+        }
+    }
+
+    /**
+     * Get all the event types that at least one mission is subscribed to.
+     * These are the event types that listeners should be registered for.
+     */
+    public Set<Class<? extends Event>> getEventTypes(){
+        return Collections.unmodifiableSet(subscriptions.keySet());
+    }
+
+    /**
+     * Get the missions that should be notified about an event.
+     * Missions that are subscribed to one of the super-classes of the event are included as well.
+     * @param eventType The type of the event.
+     */
+    public List<Mission> getSubscribers(Class<? extends Event> eventType){
+        return resolvedSubscriptions.computeIfAbsent(eventType, type -> {
+            Set<Mission> missions = new LinkedHashSet<>();
+
+            for(Class<?> clazz = type; clazz != null && Event.class.isAssignableFrom(clazz); clazz = clazz.getSuperclass()){
+                List<Mission> subscribers = subscriptions.get(clazz);
+                if(subscribers != null)
+                    missions.addAll(subscribers);
+            }
+
+            return missions.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(missions));
+        });
+    }
+
+    /**
+     * Notify all the subscribed missions about an event.
+     * @param event The event to dispatch.
+     */
+    public void dispatch(Event event){
+        for(Mission mission : getSubscribers(event.getClass()))
+            mission.onEvent(event);
+    }
+
+}
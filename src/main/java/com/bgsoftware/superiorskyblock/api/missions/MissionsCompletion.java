@@ -0,0 +1,176 @@
+package com.bgsoftware.superiorskyblock.api.missions;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Consumer;
+
+/**
+ * The completed missions of a player or an island.
+ * The completion counts are stored in a dense array indexed by the index of the missions (see Mission.getIndex()),
+ * next to a bitset of the completed missions - so checks don't allocate and don't resolve names.
+ * When the missions are compiled into a new graph, the completions are moved to the new indexes of the missions
+ * by their names on the next access. Missions that are not in the new graph are dropped.
+ */
+public final class MissionsCompletion {
+
+    private int[] completionCounts = new int[0];
+    private Mission[] missions = new Mission[0];
+    private final BitSet completedMissions = new BitSet();
+    private MissionsGraph missionsGraph = null;
+
+    /**
+     * Increase the completion count of a mission.
+     * @param mission The mission that was completed.
+     */
+    public synchronized void complete(Mission mission){
+        int index = getExistingIndex(mission);
+        ensureCapacity(index);
+        completionCounts[index]++;
+        missions[index] = mission;
+        completedMissions.set(index);
+    }
+
+    /**
+     * Decrease the completion count of a mission.
+     * @param mission The mission to reset.
+     */
+    public synchronized void reset(Mission mission){
+        int index = getIndex(mission);
+
+        if(index == -1 || index >= completionCounts.length || completionCounts[index] == 0)
+            return;
+
+        if(--completionCounts[index] == 0){
+            missions[index] = null;
+            completedMissions.clear(index);
+        }
+    }
+
+    /**
+     * Set the completion count of a mission.
+     * @param mission The mission to set the count of.
+     * @param amount The amount of times the mission was completed.
+     */
+    public synchronized void setAmount(Mission mission, int amount){
+        int index = getExistingIndex(mission);
+        ensureCapacity(index);
+        completionCounts[index] = Math.max(0, amount);
+        missions[index] = amount > 0 ? mission : null;
+        completedMissions.set(index, amount > 0);
+    }
+
+    /**
+     * Check whether or not a mission was completed.
+     * @param mission The mission to check.
+     */
+    public synchronized boolean isCompleted(Mission mission){
+        int index = getIndex(mission);
+        return index != -1 && completedMissions.get(index);
+    }
+
+    /**
+     * Get the amount of times a mission was completed.
+     * @param mission The mission to check.
+     */
+    public synchronized int getAmount(Mission mission){
+        int index = getIndex(mission);
+        return index != -1 && index < completionCounts.length ? completionCounts[index] : 0;
+    }
+
+    /**
+     * Get the amount of different missions that were completed.
+     */
+    public synchronized int getCompletedAmount(){
+        return completedMissions.cardinality();
+    }
+
+    /**
+     * Check whether or not all the required missions of a mission were completed.
+     * @param missionsGraph The graph of the missions.
+     * @param mission The mission to check.
+     */
+    public synchronized boolean hasAllRequiredMissions(MissionsGraph missionsGraph, Mission mission){
+        updateMissionsGraph(missionsGraph);
+        return missionsGraph.hasAllRequiredMissions(mission, completedMissions);
+    }
+
+    /**
+     * Run an action for every completed mission, ordered by the indexes of the missions.
+     * No list is created for the iteration.
+     * @param action The action to run.
+     */
+    public synchronized void forEachCompleted(Consumer<Mission> action){
+        for(int i = completedMissions.nextSetBit(0); i >= 0; i = completedMissions.nextSetBit(i + 1))
+            action.accept(missions[i]);
+    }
+
+    /**
+     * Clear all the completed missions.
+     */
+    public synchronized void clear(){
+        Arrays.fill(completionCounts, 0);
+        Arrays.fill(missions, null);
+        completedMissions.clear();
+    }
+
+    private void ensureCapacity(int index){
+        if(index >= completionCounts.length){
+            int newLength = Math.max(index + 1, completionCounts.length * 2);
+            completionCounts = Arrays.copyOf(completionCounts, newLength);
+            missions = Arrays.copyOf(missions, newLength);
+        }
+    }
+
+    private int getExistingIndex(Mission mission){
+        int index = getIndex(mission);
+        if(index == -1)
+            throw new IllegalArgumentException("The mission " + mission.getName() + " is not in the missions graph.");
+        return index;
+    }
+
+    private int getIndex(Mission mission){
+        MissionsGraph missionsGraph = mission.getMissionsGraph();
+
+        if(missionsGraph == null)
+            throw new IllegalArgumentException("The mission " + mission.getName() + " was not compiled into a missions graph.");
+
+        updateMissionsGraph(missionsGraph);
+
+        // The mission was compiled into an older graph, and therefore its index is resolved by its name.
+        if(missionsGraph != this.missionsGraph)
+            return this.missionsGraph.getIndex(mission.getName());
+
+        return mission.getIndex();
+    }
+
+    private void updateMissionsGraph(MissionsGraph missionsGraph){
+        if(this.missionsGraph == null){
+            this.missionsGraph = missionsGraph;
+        }
+        else if(missionsGraph.getVersion() > this.missionsGraph.getVersion()){
+            remap(missionsGraph);
+            this.missionsGraph = missionsGraph;
+        }
+    }
+
+    private void remap(MissionsGraph missionsGraph){
+        int[] completionCounts = new int[missionsGraph.size()];
+        Mission[] missions = new Mission[missionsGraph.size()];
+        BitSet completedMissions = new BitSet(missionsGraph.size());
+
+        for(int i = this.completedMissions.nextSetBit(0); i >= 0; i = this.completedMissions.nextSetBit(i + 1)){
+            int index = missionsGraph.getIndex(this.missions[i].getName());
+            if(index != -1){
+                completionCounts[index] = this.completionCounts[i];
+                missions[index] = missionsGraph.getMission(index);
+                completedMissions.set(index);
+            }
+        }
+
+        this.completionCounts = completionCounts;
+        this.missions = missions;
+        this.completedMissions.clear();
+        this.completedMissions.or(completedMissions);
+    }
+
+}
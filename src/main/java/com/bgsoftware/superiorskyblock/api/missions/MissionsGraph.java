@@ -0,0 +1,190 @@
+package com.bgsoftware.superiorskyblock.api.missions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The dependency graph of the required missions, compiled once when the missions are loaded.
+ * Every mission gets a dense index, and its requirements are kept as a bitset of these indexes -
+ * so requirement checks are done against a bitset of the completed missions instead of resolving names.
+ */
+public final class MissionsGraph {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final long version = VERSIONS.incrementAndGet();
+    private final List<Mission> missions;
+    private final Map<String, Integer> namesToIndexes;
+    private final BitSet[] requirements;
+    private final boolean[] unknownRequirements;
+    private final List<Mission> topologicalOrder;
+
+    private MissionsGraph(List<Mission> missions, Map<String, Integer> namesToIndexes, BitSet[] requirements,
+                          boolean[] unknownRequirements, List<Mission> topologicalOrder){
+        this.missions = missions;
+        this.namesToIndexes = namesToIndexes;
+        this.requirements = requirements;
+        this.unknownRequirements = unknownRequirements;
+        this.topologicalOrder = topologicalOrder;
+    }
+
+    /**
+     * Compile the graph of a list of missions.
+     * The index of every mission is its position in the list, and it's set to the mission itself (see Mission.getIndex()).
+     * Missions that require an unknown mission can never have all their required missions completed.
+     * @param missionsList The missions to compile.
+     * @throws MissionLoadException if there is a cycle between the required missions.
+     */
+    public static MissionsGraph compile(List<Mission> missionsList) throws MissionLoadException {
+        List<Mission> missions = Collections.unmodifiableList(new ArrayList<>(missionsList));
+        Map<String, Integer> namesToIndexes = new HashMap<>();
+
+        for(int i = 0; i < missions.size(); i++)
+            namesToIndexes.put(missions.get(i).getName().toLowerCase(Locale.ENGLISH), i);
+
+        BitSet[] requirements = new BitSet[missions.size()];
+        boolean[] unknownRequirements = new boolean[missions.size()];
+        int[] inDegrees = new int[missions.size()];
+        List<List<Integer>> dependents = new ArrayList<>(missions.size());
+
+        for(int i = 0; i < missions.size(); i++) {
+            requirements[i] = new BitSet(missions.size());
+            dependents.add(new ArrayList<>());
+        }
+
+        for(int i = 0; i < missions.size(); i++){
+            for(String requiredMission : missions.get(i).getRequiredMissions()){
+                Integer requiredIndex = namesToIndexes.get(requiredMission.toLowerCase(Locale.ENGLISH));
+                if(requiredIndex == null){
+                    unknownRequirements[i] = true;
+                }
+                else if(!requirements[i].get(requiredIndex)){
+                    requirements[i].set(requiredIndex);
+                    dependents.get(requiredIndex).add(i);
+                    inDegrees[i]++;
+                }
+            }
+        }
+
+        List<Mission> topologicalOrder = new ArrayList<>(missions.size());
+        Deque<Integer> readyMissions = new ArrayDeque<>();
+
+        for(int i = 0; i < missions.size(); i++){
+            if(inDegrees[i] == 0)
+                readyMissions.add(i);
+        }
+
+        while(!readyMissions.isEmpty()){
+            int index = readyMissions.poll();
+            topologicalOrder.add(missions.get(index));
+            for(int dependent : dependents.get(index)){
+                if(--inDegrees[dependent] == 0)
+                    readyMissions.add(dependent);
+            }
+        }
+
+        if(topologicalOrder.size() != missions.size()){
+            for(int i = 0; i < missions.size(); i++){
+                if(inDegrees[i] > 0)
+                    throw new MissionLoadException("The mission " + missions.get(i).getName() + " has a cycle in its required missions.");
+            }
+        }
+
+        MissionsGraph missionsGraph = new MissionsGraph(missions, namesToIndexes, requirements, unknownRequirements,
+                Collections.unmodifiableList(topologicalOrder));
+
+        for(int i = 0; i < missions.size(); i++)
+            missions.get(i).setIndex(missionsGraph, i);
+
+        return missionsGraph;
+    }
+
+    /**
+     * Get the version of the graph.
+     * Every compiled graph has a higher version than the graphs that were compiled before it.
+     */
+    public long getVersion(){
+        return version;
+    }
+
+    /**
+     * Get the amount of missions in the graph.
+     */
+    public int size(){
+        return missions.size();
+    }
+
+    /**
+     * Get the index of a mission.
+     * @param mission The mission to check.
+     * @return The index of the mission, or -1 if the mission is not in the graph.
+     */
+    public int getIndex(Mission mission){
+        int index = mission.getIndex();
+        return index >= 0 && index < missions.size() && missions.get(index) == mission ? index : -1;
+    }
+
+    /**
+     * Get the index of a mission by its name.
+     * @param name The name of the mission.
+     * @return The index of the mission, or -1 if there's no mission with that name in the graph.
+     */
+    public int getIndex(String name){
+        Integer index = namesToIndexes.get(name.toLowerCase(Locale.ENGLISH));
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Get a mission by its index.
+     * @param index The index of the mission.
+     */
+    public Mission getMission(int index){
+        return missions.get(index);
+    }
+
+    /**
+     * Get all the missions, ordered so every mission comes after all of its required missions.
+     */
+    public List<Mission> getTopologicalOrder(){
+        return topologicalOrder;
+    }
+
+    /**
+     * Check whether or not all the required missions of a mission are completed.
+     * @param mission The mission to check.
+     * @param completedMissions The indexes of the completed missions.
+     */
+    public boolean hasAllRequiredMissions(Mission mission, BitSet completedMissions){
+        int index = getIndex(mission);
+
+        if(index == -1 || unknownRequirements[index])
+            return false;
+
+        BitSet required = requirements[index];
+        for(int i = required.nextSetBit(0); i >= 0; i = required.nextSetBit(i + 1)){
+            if(!completedMissions.get(i))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Check whether or not a mission should be shown in the missions menu.
+     * Missions with the onlyShowIfRequiredCompleted flag are only shown if all their required missions are completed.
+     * @param mission The mission to check.
+     * @param completedMissions The indexes of the completed missions.
+     */
+    public boolean isVisible(Mission mission, BitSet completedMissions){
+        return !mission.isOnlyShowIfRequiredCompleted() || hasAllRequiredMissions(mission, completedMissions);
+    }
+
+}
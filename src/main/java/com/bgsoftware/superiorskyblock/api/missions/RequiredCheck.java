@@ -0,0 +1,353 @@
+package com.bgsoftware.superiorskyblock.api.missions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A required check of a mission, compiled into an expression tree.
+ * Checks are compiled once when they are added to the mission, so evaluating them only resolves
+ * their placeholders - the expression itself is never parsed again.
+ *
+ * Supported expressions are comparisons (==, !=, &gt;, &gt;=, &lt;, &lt;=) between placeholders (%placeholder%),
+ * numbers and quoted strings, combined with &amp;&amp;, || and ! and grouped with parentheses.
+ * Checks that use other syntax are kept uncompiled, see isCompiled()
+ *
+ * Values that the expression tree cannot evaluate the same way as the legacy script engine are not guessed:
+ * a value that is used as a condition must be "true" or "false", and &gt;, &gt;=, &lt; and &lt;= must compare numbers.
+ * Otherwise, evaluate(Function) throws UnsupportedOperationException and the check should be evaluated the legacy way.
+ */
+public final class RequiredCheck {
+
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("%([^%\\s]+)%");
+
+    private final String expression;
+    private final Node root;
+    private final Set<String> placeholders;
+
+    private RequiredCheck(String expression, Node root, Set<String> placeholders){
+        this.expression = expression;
+        this.root = root;
+        this.placeholders = Collections.unmodifiableSet(placeholders);
+    }
+
+    /**
+     * Compile a check.
+     * @param expression The expression of the check.
+     * @return The compiled check. If the expression is not supported, the check will not be compiled.
+     */
+    public static RequiredCheck compile(String expression){
+        Set<String> placeholders = new LinkedHashSet<>();
+
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(expression);
+        while(matcher.find())
+            placeholders.add(matcher.group(1));
+
+        Node root;
+
+        try{
+            Parser parser = new Parser(tokenize(expression));
+            root = parser.parseOr();
+            if(parser.hasNext())
+                throw new IllegalArgumentException("Unexpected token " + parser.peek());
+        }catch(IllegalArgumentException ex){
+            root = null;
+        }
+
+        return new RequiredCheck(expression, root, placeholders);
+    }
+
+    /**
+     * Get the original expression of the check.
+     */
+    public String getExpression(){
+        return expression;
+    }
+
+    /**
+     * Get the placeholders that the check depends on (without the % characters).
+     * Cached results of the check should be invalidated when the data behind these placeholders changes.
+     */
+    public Set<String> getPlaceholders(){
+        return placeholders;
+    }
+
+    /**
+     * Check whether or not the expression was compiled.
+     * Uncompiled checks cannot be evaluated using evaluate(Function), and should be evaluated the legacy way.
+     */
+    public boolean isCompiled(){
+        return root != null;
+    }
+
+    /**
+     * Evaluate the check.
+     * @param placeholdersResolver A function that returns the value of a placeholder (given without the % characters).
+     * @throws IllegalStateException if the check is not compiled.
+     * @throws UnsupportedOperationException if the resolved values cannot be evaluated by the compiled expression.
+     */
+    public boolean evaluate(Function<String, String> placeholdersResolver){
+        if(root == null)
+            throw new IllegalStateException("The check " + expression + " is not compiled.");
+        return root.test(placeholdersResolver);
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private static List<String> tokenize(String expression){
+        List<String> tokens = new ArrayList<>();
+        int length = expression.length();
+
+        for(int i = 0; i < length; ){
+            char ch = expression.charAt(i);
+
+            if(Character.isWhitespace(ch)){
+                i++;
+            }
+            else if(ch == '%' || ch == '\'' || ch == '"'){
+                int end = expression.indexOf(ch, i + 1);
+                if(end == -1)
+                    throw new IllegalArgumentException("Unclosed " + ch + " at " + i);
+                tokens.add(expression.substring(i, end + 1));
+                i = end + 1;
+            }
+            else if(Character.isDigit(ch) || ch == '.' || (ch == '-' && i + 1 < length && Character.isDigit(expression.charAt(i + 1)))){
+                int end = i + 1;
+                while(end < length && (Character.isDigit(expression.charAt(end)) || expression.charAt(end) == '.'))
+                    end++;
+                tokens.add(expression.substring(i, end));
+                i = end;
+            }
+            else if(Character.isLetter(ch)){
+                int end = i + 1;
+                while(end < length && Character.isLetter(expression.charAt(end)))
+                    end++;
+                String word = expression.substring(i, end);
+                if(!word.equals("true") && !word.equals("false"))
+                    throw new IllegalArgumentException("Unsupported identifier " + word);
+                tokens.add(word);
+                i = end;
+            }
+            else{
+                String operator = i + 1 < length ? expression.substring(i, i + 2) : "";
+                if(operator.equals("&&") || operator.equals("||") || operator.equals("==") ||
+                        operator.equals("!=") || operator.equals(">=") || operator.equals("<=")){
+                    tokens.add(operator);
+                    i += 2;
+                }
+                else if(ch == '>' || ch == '<' || ch == '!' || ch == '(' || ch == ')'){
+                    tokens.add(String.valueOf(ch));
+                    i++;
+                }
+                else{
+                    throw new IllegalArgumentException("Unexpected character " + ch + " at " + i);
+                }
+            }
+        }
+
+        return tokens;
+    }
+
+    private static final class Parser {
+
+        private final List<String> tokens;
+        private int position = 0;
+
+        Parser(List<String> tokens){
+            this.tokens = tokens;
+        }
+
+        boolean hasNext(){
+            return position < tokens.size();
+        }
+
+        String peek(){
+            return hasNext() ? tokens.get(position) : null;
+        }
+
+        String next(){
+            if(!hasNext())
+                throw new IllegalArgumentException("Unexpected end of expression");
+            return tokens.get(position++);
+        }
+
+        Node parseOr(){
+            Node left = parseAnd();
+            while("||".equals(peek())){
+                next();
+                Node first = left, second = parseAnd();
+                left = resolver -> first.test(resolver) || second.test(resolver);
+            }
+            return left;
+        }
+
+        Node parseAnd(){
+            Node left = parseUnary();
+            while("&&".equals(peek())){
+                next();
+                Node first = left, second = parseUnary();
+                left = resolver -> first.test(resolver) && second.test(resolver);
+            }
+            return left;
+        }
+
+        Node parseUnary(){
+            if("!".equals(peek())){
+                next();
+                Node node = parseUnary();
+                return resolver -> !node.test(resolver);
+            }
+            return parseComparison();
+        }
+
+        Node parseComparison(){
+            if("(".equals(peek())){
+                next();
+                Node node = parseOr();
+                if(!")".equals(next()))
+                    throw new IllegalArgumentException("Missing )");
+                return node;
+            }
+
+            Operand left = parseOperand();
+            String operator = peek();
+
+            if(operator == null || !isComparison(operator)){
+                if(left instanceof Literal && !((Literal) left).isBoolean())
+                    throw new IllegalArgumentException("Unsupported condition " + ((Literal) left).value);
+                return resolver -> parseCondition(left.getValue(resolver));
+            }
+
+            next();
+            Operand right = parseOperand();
+
+            return resolver -> compare(left.getValue(resolver), operator, right.getValue(resolver));
+        }
+
+        Operand parseOperand(){
+            String token = next();
+            char first = token.charAt(0);
+
+            if(first == '%'){
+                String placeholder = token.substring(1, token.length() - 1);
+                return resolver -> {
+                    String value = resolver.apply(placeholder);
+                    return value == null ? "" : value;
+                };
+            }
+            else if(first == '\'' || first == '"'){
+                String value = token.substring(1, token.length() - 1);
+                if(!PLACEHOLDER_PATTERN.matcher(value).find())
+                    return resolver -> value;
+                return resolver -> {
+                    Matcher matcher = PLACEHOLDER_PATTERN.matcher(value);
+                    StringBuffer result = new StringBuffer();
+                    while(matcher.find()) {
+                        String placeholderValue = resolver.apply(matcher.group(1));
+                        matcher.appendReplacement(result, Matcher.quoteReplacement(placeholderValue == null ? "" : placeholderValue));
+                    }
+                    matcher.appendTail(result);
+                    return result.toString();
+                };
+            }
+            else if(Character.isDigit(first) || first == '-' || first == '.' || token.equals("true") || token.equals("false")){
+                return new Literal(token);
+            }
+
+            throw new IllegalArgumentException("Unexpected token " + token);
+        }
+
+        private static boolean isComparison(String operator){
+            switch (operator){
+                case "==":
+                case "!=":
+                case ">":
+                case ">=":
+                case "<":
+                case "<=":
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private static boolean compare(String left, String operator, String right){
+            Double leftNumber = parseNumber(left), rightNumber = parseNumber(right);
+
+            if(leftNumber != null && rightNumber != null){
+                int compare = Double.compare(leftNumber, rightNumber);
+                switch (operator){
+                    case "==": return compare == 0;
+                    case "!=": return compare != 0;
+                    case ">": return compare > 0;
+                    case ">=": return compare >= 0;
+                    case "<": return compare < 0;
+                    default: return compare <= 0;
+                }
+            }
+
+            switch (operator){
+                case "==": return left.equals(right);
+                case "!=": return !left.equals(right);
+                default: throw new UnsupportedOperationException("Cannot compare " + left + " " + operator + " " + right);
+            }
+        }
+
+        private static boolean parseCondition(String value){
+            switch (value.trim()){
+                case "true": return true;
+                case "false": return false;
+                default: throw new UnsupportedOperationException("Cannot use " + value + " as a condition");
+            }
+        }
+
+        private static Double parseNumber(String value){
+            try{
+                return Double.parseDouble(value.trim().replace(",", ""));
+            }catch(NumberFormatException ex){
+                return null;
+            }
+        }
+
+    }
+
+    private interface Node {
+
+        boolean test(Function<String, String> resolver);
+
+    }
+
+    private interface Operand {
+
+        String getValue(Function<String, String> resolver);
+
+    }
+
+    private static final class Literal implements Operand {
+
+        private final String value;
+
+        Literal(String value){
+            this.value = value;
+        }
+
+        boolean isBoolean(){
+            return value.equals("true") || value.equals("false");
+        }
+
+        @Override
+        public String getValue(Function<String, String> resolver) {
+            return value;
+        }
+
+    }
+
+}
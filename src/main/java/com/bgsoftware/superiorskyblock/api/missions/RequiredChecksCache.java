@@ -0,0 +1,169 @@
+package com.bgsoftware.superiorskyblock.api.missions;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A cache for the results of compiled required checks.
+ * Results are cached per player, and are invalidated by the placeholders that the checks depend on -
+ * for example, invalidating "vault_eco" when the balance of a player changes clears only the checks
+ * that use the balance placeholders of that player.
+ *
+ * Only checks that all of their placeholders have a registered invalidation source are cached, see
+ * registerInvalidationSource(String). Other checks are evaluated every time.
+ * The results of a player are cleared when the player is unloaded, see MissionsManager.unloadMissionsData(UUID)
+ */
+public final class RequiredChecksCache {
+
+    private final Map<UUID, Map<RequiredCheck, Boolean>> cachedResults = new ConcurrentHashMap<>();
+    private final Set<String> invalidationSources = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Register a prefix of placeholders that their results can be cached.
+     * The caller must invalidate the prefix when the data behind its placeholders changes,
+     * see invalidate(UUID, String) and invalidate(String)
+     * @param placeholderPrefix The prefix of the placeholders (for example: "vault_eco", "superior_island_level")
+     */
+    public void registerInvalidationSource(String placeholderPrefix){
+        invalidationSources.add(placeholderPrefix);
+    }
+
+    /**
+     * Unregister a prefix of placeholders, and clear all the cached results that depend on it.
+     * @param placeholderPrefix The prefix of the placeholders.
+     */
+    public void unregisterInvalidationSource(String placeholderPrefix){
+        if(invalidationSources.remove(placeholderPrefix))
+            invalidate(placeholderPrefix);
+    }
+
+    /**
+     * Check whether or not the results of a check can be cached.
+     * @param check The check to test.
+     * @return True if the check is compiled and all of its placeholders have a registered invalidation source.
+     */
+    public boolean isCacheable(RequiredCheck check){
+        if(!check.isCompiled())
+            return false;
+
+        for(String placeholder : check.getPlaceholders()){
+            if(!hasInvalidationSource(placeholder))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Check whether or not a player can pass all the checks of a mission.
+     * Uncompiled checks are evaluated using the fallback function, and their results are not cached.
+     * @param uuid The uuid of the player.
+     * @param mission The mission to check.
+     * @param placeholdersResolver A function that returns the value of a placeholder for the player.
+     * @param fallback A function to evaluate uncompiled checks.
+     * @return True if player can pass all checks, otherwise false.
+     */
+    public boolean canPassAllChecks(UUID uuid, Mission mission, Function<String, String> placeholdersResolver,
+                                    Function<RequiredCheck, Boolean> fallback){
+        for(RequiredCheck check : mission.getCompiledRequiredChecks()){
+            if(!test(uuid, check, placeholdersResolver, fallback))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Check whether or not a player can pass a check.
+     * @param uuid The uuid of the player.
+     * @param check The check to evaluate.
+     * @param placeholdersResolver A function that returns the value of a placeholder for the player.
+     * @param fallback A function to evaluate the check the legacy way.
+     *                 Used for uncompiled checks and for values that compiled checks cannot evaluate.
+     */
+    public boolean test(UUID uuid, RequiredCheck check, Function<String, String> placeholdersResolver,
+                        Function<RequiredCheck, Boolean> fallback){
+        if(!check.isCompiled())
+            return fallback.apply(check);
+
+        if(!isCacheable(check))
+            return evaluate(check, placeholdersResolver, fallback);
+
+        Map<RequiredCheck, Boolean> playerResults = cachedResults.computeIfAbsent(uuid, u -> new ConcurrentHashMap<>());
+        Boolean result = playerResults.get(check);
+
+        if(result == null){
+            result = evaluate(check, placeholdersResolver, fallback);
+            playerResults.put(check, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Clear all the cached results of a player.
+     * Called when the player is unloaded, see MissionsManager.unloadMissionsData(UUID)
+     * @param uuid The uuid of the player.
+     */
+    public void invalidate(UUID uuid){
+        cachedResults.remove(uuid);
+    }
+
+    /**
+     * Clear the cached results of a player that depend on placeholders starting with a prefix.
+     * @param uuid The uuid of the player.
+     * @param placeholderPrefix The prefix of the placeholders (for example: "vault_eco", "superior_island_level")
+     */
+    public void invalidate(UUID uuid, String placeholderPrefix){
+        Map<RequiredCheck, Boolean> playerResults = cachedResults.get(uuid);
+        if(playerResults != null)
+            playerResults.keySet().removeIf(check -> dependsOn(check, placeholderPrefix));
+    }
+
+    /**
+     * Clear the cached results of all the players that depend on placeholders starting with a prefix.
+     * @param placeholderPrefix The prefix of the placeholders (for example: "vault_eco", "superior_island_level")
+     */
+    public void invalidate(String placeholderPrefix){
+        for(Map<RequiredCheck, Boolean> playerResults : cachedResults.values())
+            playerResults.keySet().removeIf(check -> dependsOn(check, placeholderPrefix));
+    }
+
+    /**
+     * Clear all the cached results.
+     */
+    public void clear(){
+        cachedResults.clear();
+    }
+
+    private boolean hasInvalidationSource(String placeholder){
+        for(String placeholderPrefix : invalidationSources){
+            if(placeholder.startsWith(placeholderPrefix))
+                return true;
+        }
+
+        return false;
+    }
+
+    private static boolean evaluate(RequiredCheck check, Function<String, String> placeholdersResolver,
+                                    Function<RequiredCheck, Boolean> fallback){
+        try{
+            return check.evaluate(placeholdersResolver);
+        }catch(UnsupportedOperationException ex){
+            return fallback.apply(check);
+        }
+    }
+
+    private static boolean dependsOn(RequiredCheck check, String placeholderPrefix){
+        for(String placeholder : check.getPlaceholders()){
+            if(placeholder.startsWith(placeholderPrefix))
+                return true;
+        }
+
+        return false;
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.bgsoftware.superiorskyblock.api.objects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * A sorted index of names, used for prefix lookups (tab-completion, for example).
+ * Names are compared by their normalized form (color codes stripped, case-folded), while the original names are returned.
+ * Exact lookups cost O(1), prefix lookups cost O(log n + limit), and the index is safe to use from multiple threads.
+ * @param <V> The type of the values that are stored in the index.
+ */
+public final class PrefixIndex<V> {
+
+    private static final Pattern COLOR_CODES_PATTERN = Pattern.compile("(?i)[\u00A7&][0-9A-FK-OR]");
+
+    private final ConcurrentNavigableMap<String, Pair<String, V>> entries = new ConcurrentSkipListMap<>();
+    private final Map<String, Pair<String, V>> exactEntries = new ConcurrentHashMap<>();
+
+    /**
+     * Add a name to the index.
+     * If the name already exists in the index, the old value will be replaced.
+     * @param name The name to add.
+     * @param value The value of the name.
+     */
+    public synchronized void put(String name, V value){
+        String key = normalize(name);
+        Pair<String, V> entry = new Pair<>(name, value);
+        exactEntries.put(key, entry);
+        entries.put(key, entry);
+    }
+
+    /**
+     * Remove a name from the index.
+     * @param name The name to remove.
+     */
+    public synchronized void remove(String name){
+        String key = normalize(name);
+        exactEntries.remove(key);
+        entries.remove(key);
+    }
+
+    /**
+     * Remove a name from the index, only if it's mapped to a specific value.
+     * @param name The name to remove.
+     * @param value The value the name should be mapped to.
+     * @return True if the name was removed, otherwise false.
+     */
+    public synchronized boolean remove(String name, V value){
+        String key = normalize(name);
+        Pair<String, V> entry = exactEntries.get(key);
+
+        if(entry == null || entry.getValue() != value)
+            return false;
+
+        exactEntries.remove(key);
+        entries.remove(key);
+
+        return true;
+    }
+
+    /**
+     * Rename an entry in the index.
+     * The old name is only removed if it's mapped to the same value.
+     * @param oldName The old name of the value. May be null.
+     * @param newName The new name of the value.
+     * @param value The value that was renamed.
+     */
+    public synchronized void rename(String oldName, String newName, V value){
+        if(oldName != null)
+            remove(oldName, value);
+        put(newName, value);
+    }
+
+    /**
+     * Get the value of a name.
+     * @param name The name to check.
+     * @return The value of the name. May be null.
+     */
+    public V get(String name){
+        Pair<String, V> entry = exactEntries.get(normalize(name));
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Check whether or not a name exists in the index.
+     * @param name The name to check.
+     */
+    public boolean contains(String name){
+        return exactEntries.containsKey(normalize(name));
+    }
+
+    /**
+     * Get the names that start with a specific prefix, ordered alphabetically.
+     * @param prefix The prefix to check.
+     * @param limit The maximum amount of names to return.
+     */
+    public List<String> getNames(String prefix, int limit){
+        List<String> names = new ArrayList<>();
+        for(Pair<String, V> entry : getEntries(prefix, limit))
+            names.add(entry.getKey());
+        return names;
+    }
+
+    /**
+     * Get the values of the names that start with a specific prefix, ordered alphabetically by their names.
+     * @param prefix The prefix to check.
+     * @param limit The maximum amount of values to return.
+     */
+    public List<V> getValues(String prefix, int limit){
+        List<V> values = new ArrayList<>();
+        for(Pair<String, V> entry : getEntries(prefix, limit))
+            values.add(entry.getValue());
+        return values;
+    }
+
+    /**
+     * Get the amount of names in the index.
+     */
+    public int size(){
+        return exactEntries.size();
+    }
+
+    /**
+     * Remove all the names from the index.
+     */
+    public synchronized void clear(){
+        exactEntries.clear();
+        entries.clear();
+    }
+
+    private List<Pair<String, V>> getEntries(String prefix, int limit){
+        if(limit <= 0)
+            return Collections.emptyList();
+
+        String key = normalize(prefix);
+        List<Pair<String, V>> result = new ArrayList<>(Math.min(limit, 16));
+
+        for(Map.Entry<String, Pair<String, V>> entry : entries.tailMap(key).entrySet()){
+            if(!entry.getKey().startsWith(key) || result.size() >= limit)
+                break;
+            result.add(entry.getValue());
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the key that is used for a name inside the index.
+     * Color codes are stripped and the name is case-folded.
+     * @param name The name to check.
+     */
+    public static String normalize(String name){
+        return COLOR_CODES_PATTERN.matcher(name).replaceAll("").toLowerCase(Locale.ENGLISH);
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.bgsoftware.superiorskyblock.api.upgrades;
 
+import com.bgsoftware.superiorskyblock.api.generator.GeneratorRates;
 import com.bgsoftware.superiorskyblock.api.key.Key;
+import org.bukkit.World;
 import org.bukkit.entity.EntityType;
 
 import java.util.List;
@@ -94,7 +96,16 @@ public interface UpgradeLevel {
 
     /**
      * Get all the generator rates for this level.
+     *
+     * @deprecated See getGeneratorRates(Environment)
      */
+    @Deprecated
     Map<String, Integer> getGeneratorAmounts();
 
+    /**
+     * Get all the generator rates for this level, depends on the world environment.
+     * @param environment The environment of the generator.
+     */
+    GeneratorRates getGeneratorRates(World.Environment environment);
+
 }
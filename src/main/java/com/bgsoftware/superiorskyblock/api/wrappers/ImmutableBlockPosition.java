@@ -0,0 +1,129 @@
+package com.bgsoftware.superiorskyblock.api.wrappers;
+
+import com.google.common.base.Preconditions;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+/**
+ * An immutable block position.
+ * Unlike locations, positions can be cached and shared without cloning them.
+ * The position stores the name of its world rather than the world itself, so cached positions
+ * don't keep unloaded worlds in memory.
+ */
+public final class ImmutableBlockPosition implements BlockPosition {
+
+    private final String worldName;
+    private final int x, y, z;
+
+    private ImmutableBlockPosition(String worldName, int x, int y, int z){
+        this.worldName = worldName;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Create a new position.
+     * @param worldName The name of the world of the position.
+     * @param x The x value of the position.
+     * @param y The y value of the position.
+     * @param z The z value of the position.
+     */
+    public static ImmutableBlockPosition of(String worldName, int x, int y, int z){
+        return new ImmutableBlockPosition(worldName, x, y, z);
+    }
+
+    /**
+     * Create a new position.
+     * @param world The world of the position.
+     * @param x The x value of the position.
+     * @param y The y value of the position.
+     * @param z The z value of the position.
+     */
+    public static ImmutableBlockPosition of(World world, int x, int y, int z){
+        return new ImmutableBlockPosition(world == null ? null : world.getName(), x, y, z);
+    }
+
+    /**
+     * Create a new position from the block coordinates of a location.
+     * @param location The location to copy.
+     */
+    public static ImmutableBlockPosition of(Location location){
+        Preconditions.checkNotNull(location, "location parameter cannot be null.");
+        return of(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    /**
+     * Get the name of the world of the position.
+     */
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * Get the world of the position.
+     * The world is looked up by its name, so null is returned if it's not loaded.
+     */
+    @Override
+    public World getWorld() {
+        return worldName == null ? null : Bukkit.getWorld(worldName);
+    }
+
+    @Override
+    public int getX() {
+        return x;
+    }
+
+    @Override
+    public int getY() {
+        return y;
+    }
+
+    @Override
+    public int getZ() {
+        return z;
+    }
+
+    @Override
+    public Block getBlock() {
+        World world = getWorld();
+        Preconditions.checkState(world != null, "The world " + worldName + " is not loaded.");
+        return world.getBlockAt(x, y, z);
+    }
+
+    @Override
+    public Location parse(World world) {
+        return new Location(world, x, y, z);
+    }
+
+    @Override
+    public Location parse() {
+        return parse(getWorld());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(!(obj instanceof ImmutableBlockPosition))
+            return false;
+
+        ImmutableBlockPosition other = (ImmutableBlockPosition) obj;
+        return x == other.x && y == other.y && z == other.z && (worldName == null ? other.worldName == null : worldName.equals(other.worldName));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = worldName == null ? 0 : worldName.hashCode();
+        result = 31 * result + x;
+        result = 31 * result + y;
+        result = 31 * result + z;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return worldName + ", " + x + ", " + y + ", " + z;
+    }
+
+}
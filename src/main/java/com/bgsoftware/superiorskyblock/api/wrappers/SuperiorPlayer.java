@@ -3,9 +3,11 @@ package com.bgsoftware.superiorskyblock.api.wrappers;
 import com.bgsoftware.superiorskyblock.api.enums.BorderColor;
 import com.bgsoftware.superiorskyblock.api.island.Island;
 import com.bgsoftware.superiorskyblock.api.island.IslandPermission;
+import com.bgsoftware.superiorskyblock.api.island.IslandPositionTracker;
 import com.bgsoftware.superiorskyblock.api.island.IslandPrivilege;
 import com.bgsoftware.superiorskyblock.api.island.PlayerRole;
 import com.bgsoftware.superiorskyblock.api.missions.Mission;
+import com.bgsoftware.superiorskyblock.api.missions.MissionsCompletion;
 import org.bukkit.Location;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.World;
@@ -42,6 +44,7 @@ public interface SuperiorPlayer {
 
     /**
      * Update the cached name with the current player's name.
+     * If the name has changed, the name index of the players manager is updated as well.
      */
     void updateName();
 
@@ -95,6 +98,7 @@ public interface SuperiorPlayer {
 
     /**
      * Get the island owner of the player's island.
+     * Resolved using the members index of the grid, and therefore consistent with getIsland().
      */
     SuperiorPlayer getIslandLeader();
 
@@ -117,6 +121,7 @@ public interface SuperiorPlayer {
 
     /**
      * Get the island of the player.
+     * The lookup is done using the members index of the grid, without locking.
      */
     Island getIsland();
 
@@ -291,6 +296,12 @@ public interface SuperiorPlayer {
      */
     boolean isInsideIsland();
 
+    /**
+     * Get the tracker of the island that the player is currently inside.
+     * Used for detecting entering and leaving islands when the player moves.
+     */
+    IslandPositionTracker getIslandPositionTracker();
+
     /**
      * Get the border color of the player.
      */
@@ -344,7 +355,16 @@ public interface SuperiorPlayer {
 
     /**
      * Get the list of the completed missions of the player.
+     *
+     * @deprecated See getMissionsCompletion()
      */
+    @Deprecated
     List<Mission> getCompletedMissions();
 
+    /**
+     * Get the completed missions of the player.
+     * The returned object is live, and is not copied on every call.
+     */
+    MissionsCompletion getMissionsCompletion();
+
 }
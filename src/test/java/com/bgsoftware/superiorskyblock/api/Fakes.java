@@ -0,0 +1,101 @@
+package com.bgsoftware.superiorskyblock.api;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Creates fake implementations of API interfaces for tests.
+ * Methods without an answer return an empty value of their return type.
+ */
+public final class Fakes {
+
+    private Fakes(){
+
+    }
+
+    public static <T> Builder<T> of(Class<T> type){
+        return new Builder<>(type);
+    }
+
+    public static void setPlugin(SuperiorSkyblock plugin){
+        try {
+            Field field = SuperiorSkyblockAPI.class.getDeclaredField("plugin");
+            field.setAccessible(true);
+            field.set(null, plugin);
+        }catch(ReflectiveOperationException ex){
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public static final class Builder<T> {
+
+        private final Class<T> type;
+        private final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+
+        private Builder(Class<T> type){
+            this.type = type;
+        }
+
+        public Builder<T> returns(String methodName, Object value){
+            return answers(methodName, args -> value);
+        }
+
+        public Builder<T> answers(String methodName, Function<Object[], Object> answer){
+            answers.put(methodName, answer);
+            return this;
+        }
+
+        public T build(){
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+                Function<Object[], Object> answer = answers.get(method.getName());
+
+                if(answer != null)
+                    return answer.apply(args);
+
+                switch (method.getName()){
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                }
+
+                return emptyValue(method.getReturnType());
+            }));
+        }
+
+    }
+
+    private static Object emptyValue(Class<?> type){
+        if(type == boolean.class)
+            return false;
+        else if(type == int.class)
+            return 0;
+        else if(type == long.class)
+            return 0L;
+        else if(type == double.class)
+            return 0D;
+        else if(type == float.class)
+            return 0F;
+        else if(type == BigDecimal.class)
+            return BigDecimal.ZERO;
+        else if(type == List.class)
+            return Collections.emptyList();
+        else if(type == Set.class || type == Collection.class)
+            return Collections.emptySet();
+        else if(type == Map.class)
+            return Collections.emptyMap();
+        else
+            return null;
+    }
+
+}
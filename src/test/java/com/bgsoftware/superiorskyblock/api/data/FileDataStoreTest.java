@@ -0,0 +1,139 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public final class FileDataStoreTest {
+
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("data-store").toFile();
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        Files.walk(directory.toPath()).sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+    }
+
+    @Test
+    public void compactedRecordsSurviveReopening() throws IOException {
+        UUID first = UUID.randomUUID(), second = UUID.randomUUID(), deleted = UUID.randomUUID();
+
+        FileDataStore dataStore = new FileDataStore(directory, 64);
+        try{
+            for(int i = 0; i < 10; i++) {
+                Map<UUID, byte[]> records = new HashMap<>();
+                records.put(first, new byte[] {(byte) i});
+                records.put(second, new byte[] {(byte) i, (byte) i});
+                records.put(deleted, new byte[] {1, 2, 3});
+                dataStore.saveAll(records);
+            }
+            dataStore.delete(deleted);
+
+            dataStore.compact();
+
+            assertEquals(2, dataStore.size());
+            assertEquals(dataStore.getLiveBytes(), dataStore.getTotalBytes());
+            assertArrayEquals(new byte[] {9}, dataStore.load(first));
+
+            // The storage keeps working after the compaction.
+            dataStore.saveAll(Collections.singletonMap(first, new byte[] {42}));
+        }finally{
+            dataStore.close();
+        }
+
+        FileDataStore reopenedDataStore = new FileDataStore(directory, 64);
+        try{
+            assertEquals(2, reopenedDataStore.size());
+            assertArrayEquals(new byte[] {42}, reopenedDataStore.load(first));
+            assertArrayEquals(new byte[] {9, 9}, reopenedDataStore.load(second));
+            assertNull(reopenedDataStore.load(deleted));
+        }finally{
+            reopenedDataStore.close();
+        }
+    }
+
+    @Test
+    public void corruptedEntriesOfOlderSegmentsAreSkipped() throws IOException {
+        UUID first = UUID.randomUUID(), second = UUID.randomUUID(), third = UUID.randomUUID();
+
+        // Every entry is written to its own segment.
+        FileDataStore dataStore = new FileDataStore(directory, 30);
+        try{
+            dataStore.saveAll(Collections.singletonMap(first, new byte[] {1}));
+            dataStore.saveAll(Collections.singletonMap(second, new byte[] {2}));
+            dataStore.saveAll(Collections.singletonMap(third, new byte[] {3}));
+        }finally{
+            dataStore.close();
+        }
+
+        File[] segments = segmentFiles();
+        assertEquals(3, segments.length);
+
+        corruptLastByte(segments[0]);
+        corruptLastByte(segments[2]);
+
+        FileDataStore reopenedDataStore = new FileDataStore(directory, 30);
+        try{
+            assertNull(reopenedDataStore.load(first));
+            assertArrayEquals(new byte[] {2}, reopenedDataStore.load(second));
+            assertNull(reopenedDataStore.load(third));
+        }finally{
+            reopenedDataStore.close();
+        }
+
+        // Only the tail of the newest segment is truncated.
+        assertEquals(26, segments[0].length());
+        assertEquals(0, segments[2].length());
+    }
+
+    @Test
+    public void unknownFilesAreIgnored() throws IOException {
+        assertTrue(new File(directory, "segment-backup.log").createNewFile());
+        assertTrue(new File(directory, "segment-0000000000000005.compact").createNewFile());
+
+        FileDataStore dataStore = new FileDataStore(directory);
+        try{
+            assertEquals(0, dataStore.size());
+        }finally{
+            dataStore.close();
+        }
+
+        assertTrue(new File(directory, "segment-backup.log").exists());
+        assertFalse(new File(directory, "segment-0000000000000005.compact").exists());
+    }
+
+    private File[] segmentFiles(){
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".log"));
+        Arrays.sort(files);
+        return files;
+    }
+
+    private static void corruptLastByte(File file) throws IOException {
+        try(RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")){
+            randomAccessFile.seek(randomAccessFile.length() - 1);
+            randomAccessFile.write(99);
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public final class IncrementalSnapshotWriterTest {
+
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("snapshots").toFile();
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        Files.walk(directory.toPath()).sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+    }
+
+    @Test
+    public void snapshotsAreRestoredAndRemoved() throws IOException {
+        UUID first = UUID.randomUUID(), second = UUID.randomUUID();
+        Map<UUID, Long> epochs = new HashMap<>();
+        epochs.put(first, 1L);
+        epochs.put(second, 1L);
+
+        IncrementalSnapshotWriter snapshotWriter = new IncrementalSnapshotWriter(directory);
+        assertEquals(0, snapshotWriter.snapshot(epochs, uuid -> new byte[] {1}, false));
+
+        epochs.put(first, 2L);
+        epochs.remove(second);
+        assertEquals(1, snapshotWriter.snapshot(epochs, uuid -> new byte[] {2}, false));
+        assertEquals(2, snapshotWriter.snapshot(epochs, uuid -> new byte[] {3}, true));
+
+        Map<UUID, byte[]> records = snapshotWriter.restore(1);
+        assertEquals(1, records.size());
+        assertArrayEquals(new byte[] {2}, records.get(first));
+
+        assertEquals(2, snapshotWriter.removeSnapshotsBefore(2));
+        assertEquals(Collections.singletonList(2L), snapshotWriter.getSnapshots());
+
+        // The segments are released once they are written, so they can be moved and deleted right away.
+        assertEquals(1, directory.listFiles().length);
+    }
+
+    @Test
+    public void damagedSnapshotsAreSkipped() throws IOException {
+        UUID uuid = UUID.randomUUID();
+
+        IncrementalSnapshotWriter snapshotWriter = new IncrementalSnapshotWriter(directory);
+        for(long epoch = 0; epoch < 3; epoch++) {
+            byte[] data = {(byte) epoch};
+            snapshotWriter.snapshot(Collections.singletonMap(uuid, epoch), record -> data, false);
+        }
+
+        File[] segments = directory.listFiles();
+        Arrays.sort(segments);
+        corruptByte(segments[1], 14);
+
+        IncrementalSnapshotWriter reopenedSnapshotWriter = new IncrementalSnapshotWriter(directory);
+        assertEquals(Arrays.asList(0L, 2L), reopenedSnapshotWriter.getSnapshots());
+        assertEquals(Collections.singletonList(1L), reopenedSnapshotWriter.getDamagedSnapshots());
+        assertArrayEquals(new byte[] {0}, reopenedSnapshotWriter.restore(0).get(uuid));
+
+        try{
+            reopenedSnapshotWriter.restore(2);
+            fail("Snapshot 2 depends on the damaged snapshot.");
+        }catch(IOException ignored){}
+
+        // The next snapshot is full, even though the record didn't change.
+        assertEquals(3, reopenedSnapshotWriter.snapshot(Collections.singletonMap(uuid, 2L), record -> new byte[] {9}, false));
+        assertArrayEquals(new byte[] {9}, reopenedSnapshotWriter.restore(3).get(uuid));
+
+        assertEquals(3, reopenedSnapshotWriter.removeSnapshotsBefore(3));
+        assertEquals(Collections.emptyList(), reopenedSnapshotWriter.getDamagedSnapshots());
+        assertFalse(segments[1].exists());
+    }
+
+    private static void corruptByte(File file, long position) throws IOException {
+        try(RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")){
+            randomAccessFile.seek(position);
+            randomAccessFile.write(randomAccessFile.read() ^ 0xFF);
+        }
+    }
+
+}
@@ -0,0 +1,328 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import com.bgsoftware.superiorskyblock.api.Fakes;
+import com.bgsoftware.superiorskyblock.api.SuperiorSkyblock;
+import com.bgsoftware.superiorskyblock.api.enums.Rating;
+import com.bgsoftware.superiorskyblock.api.generator.GeneratorRates;
+import com.bgsoftware.superiorskyblock.api.handlers.PlayersManager;
+import com.bgsoftware.superiorskyblock.api.handlers.UpgradesManager;
+import com.bgsoftware.superiorskyblock.api.island.Island;
+import com.bgsoftware.superiorskyblock.api.island.IslandFlag;
+import com.bgsoftware.superiorskyblock.api.island.IslandPrivilege;
+import com.bgsoftware.superiorskyblock.api.island.PlayerRole;
+import com.bgsoftware.superiorskyblock.api.key.Key;
+import com.bgsoftware.superiorskyblock.api.missions.MissionsCompletion;
+import com.bgsoftware.superiorskyblock.api.upgrades.Upgrade;
+import com.bgsoftware.superiorskyblock.api.upgrades.UpgradeLevel;
+import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public final class IslandSnapshotTest {
+
+    private static final Upgrade UPGRADE = Fakes.of(Upgrade.class).returns("getName", "hoppers-limit").build();
+
+    @BeforeClass
+    public static void setPlugin(){
+        UpgradesManager upgradesManager = Fakes.of(UpgradesManager.class)
+                .returns("getUpgrades", Collections.singletonList(UPGRADE))
+                .build();
+        PlayersManager playersManager = Fakes.of(PlayersManager.class).build();
+        Fakes.setPlugin(Fakes.of(SuperiorSkyblock.class)
+                .returns("getUpgrades", upgradesManager)
+                .returns("getPlayers", playersManager)
+                .build());
+
+        registerIfAbsent(IslandFlag::register, "PVP");
+        registerIfAbsent(IslandFlag::register, "ALWAYS_DAY");
+        registerIfAbsent(IslandPrivilege::register, "BUILD");
+        registerIfAbsent(IslandPrivilege::register, "BREAK");
+    }
+
+    @AfterClass
+    public static void clearPlugin(){
+        Fakes.setPlugin(null);
+    }
+
+    @Test
+    public void snapshotRoundTrip() throws IOException {
+        UUID owner = UUID.randomUUID(), member = UUID.randomUUID(), rater = UUID.randomUUID();
+        World world = Fakes.of(World.class).returns("getName", "SuperiorWorld").build();
+
+        Map<Key, Integer> blockCounts = new LinkedHashMap<>();
+        blockCounts.put(Key.of("STONE"), 10);
+        blockCounts.put(Key.of("STONE:1"), 20);
+        blockCounts.put(Key.of("HOPPER"), 3);
+
+        Map<String, Location> warps = new LinkedHashMap<>();
+        warps.put("home", new Location(world, 1.5, 64, -20.25, 90, 10));
+        warps.put("unloaded", new Location(null, 0, 0, 0));
+
+        Map<UUID, Rating> ratings = new LinkedHashMap<>();
+        ratings.put(member, Rating.FIVE_STARS);
+        ratings.put(rater, Rating.ONE_STAR);
+
+        Island island = island(owner)
+                .returns("getName", "Island")
+                .returns("getWorth", new BigDecimal("1234.5"))
+                .returns("getMoneyInBank", new BigDecimal("-10"))
+                .returns("getCropGrowthMultiplier", 1.5D)
+                .returns("getIslandSize", 100)
+                .returns("getTeamLimit", -1)
+                .returns("isLocked", true)
+                .returns("getLastTimeUpdate", 1600000000000L)
+                .returns("getIslandMembers", Arrays.asList(player(member, 2)))
+                .returns("getBannedPlayers", Collections.singletonList(player(rater, 0)))
+                .returns("getBlockCounts", blockCounts)
+                .answers("getGeneratorRates", args -> {
+                    Map<String, Integer> amounts = new LinkedHashMap<>();
+                    if(args[0] == World.Environment.NORMAL){
+                        amounts.put("COBBLESTONE", 90);
+                        amounts.put("DIAMOND_ORE", 10);
+                    }
+                    else if(args[0] == World.Environment.NETHER){
+                        amounts.put("NETHERRACK", 100);
+                    }
+                    return GeneratorRates.of((World.Environment) args[0], 1, amounts);
+                })
+                .returns("getUpgradeLevel", Fakes.of(UpgradeLevel.class).returns("getLevel", 3).build())
+                .returns("getAllWarps", new ArrayList<>(warps.keySet()))
+                .answers("getWarpLocation", args -> warps.get(args[0]))
+                .answers("isWarpPrivate", args -> args[0].equals("home"))
+                .returns("getRatings", ratings)
+                .answers("getCenter", args -> new Location(world, 0.5, 100, 0.5))
+                .answers("getTeleportLocation", args -> args[0] == World.Environment.NORMAL ?
+                        new Location(world, 2.5, 101, -3.5, 180, 45) : null)
+                .returns("getVisitorsLocation", new Location(world, 10, 100, 10))
+                .answers("hasPermission", args -> args[1] == IslandPrivilege.getByName("BUILD"))
+                .answers("hasSettingsEnabled", args -> args[0] == IslandFlag.getByName("PVP"))
+                .build();
+
+        IslandSnapshot snapshot = IslandSnapshot.deserialize(IslandSnapshot.of(island).serialize());
+
+        assertEquals(owner, snapshot.getOwner());
+        assertEquals("Island", snapshot.getName());
+        assertNull(snapshot.getDescription());
+        assertEquals(new BigDecimal("1234.5"), snapshot.getWorth());
+        assertEquals(new BigDecimal("-10"), snapshot.getBank());
+        assertEquals(1.5, snapshot.getCropGrowthMultiplier(), 0);
+        assertEquals(100, snapshot.getIslandSize());
+        assertEquals(-1, snapshot.getTeamLimit());
+        assertTrue(snapshot.isLocked());
+        assertFalse(snapshot.isIgnored());
+        assertEquals(1600000000000L, snapshot.getLastTimeUpdate());
+
+        assertEquals(Collections.singletonMap(member, 2), snapshot.getMembers());
+        assertEquals(Collections.singletonList(rater), snapshot.getBannedPlayers());
+
+        // Keys with data values must not be merged into the keys of their materials.
+        assertEquals(3, snapshot.getBlockCounts().size());
+        assertEquals(10, snapshot.getBlockCount(Key.of("STONE")));
+        assertEquals(20, snapshot.getBlockCount(Key.of("STONE:1")));
+        assertEquals(0, snapshot.getBlockCount(Key.of("DIRT")));
+        assertEquals(-1, snapshot.getBlockLimit(Key.of("STONE")));
+
+        assertEquals(90, (int) snapshot.getGeneratorAmounts(World.Environment.NORMAL).get("COBBLESTONE"));
+        assertEquals(10, (int) snapshot.getGeneratorAmounts(World.Environment.NORMAL).get("DIAMOND_ORE"));
+        assertEquals(Collections.singletonMap("NETHERRACK", 100), snapshot.getGeneratorAmounts(World.Environment.NETHER));
+        assertTrue(snapshot.getGeneratorAmounts(World.Environment.THE_END).isEmpty());
+
+        assertEquals(Collections.singletonMap("hoppers-limit", 3), snapshot.getUpgrades());
+
+        // Warps in unloaded worlds are not stored.
+        assertEquals(Collections.singleton("home"), snapshot.getWarps().keySet());
+        assertEquals("SuperiorWorld", snapshot.getWarps().get("home").getWorldName());
+        assertTrue(snapshot.getWarps().get("home").isPrivate());
+
+        assertEquals(ratings, snapshot.getRatings());
+
+        assertEquals(100, snapshot.getCenter(World.Environment.NORMAL).getY(), 0);
+        // The nether and the end are disabled, so their centers are not stored.
+        assertNull(snapshot.getCenter(World.Environment.NETHER));
+        assertEquals("SuperiorWorld", snapshot.getTeleportLocation(World.Environment.NORMAL).getWorldName());
+        assertEquals(180, snapshot.getTeleportLocation(World.Environment.NORMAL).getYaw(), 0);
+        assertEquals(10, snapshot.getVisitorsLocation().getZ(), 0);
+
+        assertEquals(Collections.singletonMap(member, Collections.singletonList("BUILD")), snapshot.getPlayerPermissions());
+        assertEquals(Collections.singletonList("PVP"), snapshot.getEnabledFlags());
+    }
+
+    @Test
+    public void unknownRatingIsRejected() throws IOException {
+        UUID owner = UUID.randomUUID();
+        byte[] data = IslandSnapshot.of(island(owner)
+                .returns("getRatings", Collections.singletonMap(owner, Rating.THREE_STARS))
+                .build()).serialize();
+        byte[] otherRating = IslandSnapshot.of(island(owner)
+                .returns("getRatings", Collections.singletonMap(owner, Rating.FOUR_STARS))
+                .build()).serialize();
+
+        assertEquals(Rating.THREE_STARS, IslandSnapshot.deserialize(data).getRatings().get(owner));
+
+        // The snapshots are different only by the value of the rating.
+        int ratingIndex = firstDifference(data, otherRating);
+        assertEquals(Rating.FOUR_STARS, IslandSnapshot.deserialize(otherRating).getRatings().get(owner));
+        data[ratingIndex] = 100;
+
+        try {
+            IslandSnapshot.deserialize(data);
+            fail("Unknown rating was read.");
+        }catch(IOException ignored){}
+    }
+
+    @Test
+    public void warpWithoutWorldIsRejected() throws IOException {
+        byte[] data = serializeWithWarp("world");
+        // The names of the worlds are different only by their first character.
+        int nameIndex = firstDifference(data, serializeWithWarp("xorld"));
+
+        IslandSnapshot snapshot = IslandSnapshot.deserialize(data);
+        assertEquals("world", snapshot.getWarps().get("home").getWorldName());
+
+        // Replace the world name with a null string, which is written as the length 0.
+        int lengthIndex = nameIndex - 1;
+        byte[] malformed = new byte[data.length - "world".length()];
+        System.arraycopy(data, 0, malformed, 0, lengthIndex);
+        malformed[lengthIndex] = 0;
+        System.arraycopy(data, nameIndex + "world".length(), malformed, lengthIndex + 1, data.length - nameIndex - "world".length());
+
+        try {
+            IslandSnapshot.deserialize(malformed);
+            fail("Warp without a world was read.");
+        }catch(IOException ignored){}
+    }
+
+    @Test
+    public void foreignDataIsRejected() {
+        byte[] data = IslandSnapshot.of(island(UUID.randomUUID()).build()).serialize();
+
+        byte[] wrongMagic = data.clone();
+        wrongMagic[0] = 0x50;
+        byte[] newerVersion = data.clone();
+        newerVersion[1] = 100;
+
+        for(byte[] malformed : new byte[][] {wrongMagic, newerVersion, Arrays.copyOf(data, data.length - 1)}) {
+            try {
+                IslandSnapshot.deserialize(malformed);
+                fail("Malformed data was read.");
+            } catch (IOException ignored) {}
+        }
+    }
+
+    @Test
+    public void binaryFormatIsSmallerThanJavaSerialization() throws IOException {
+        List<SuperiorPlayer> members = new ArrayList<>();
+        Map<UUID, Rating> ratings = new LinkedHashMap<>();
+        Map<Key, Integer> blockCounts = new LinkedHashMap<>();
+
+        for(int i = 0; i < 50; i++){
+            SuperiorPlayer member = player(UUID.randomUUID(), i % 4);
+            members.add(member);
+            ratings.put(member.getUniqueId(), Rating.valueOf(i % 5 + 1));
+        }
+
+        for(int i = 0; i < 300; i++)
+            blockCounts.put(Key.of("BLOCK_" + i + ":" + (i % 16)), i * 37);
+
+        IslandSnapshot snapshot = IslandSnapshot.of(island(UUID.randomUUID())
+                .returns("getName", "Island")
+                .returns("getIslandMembers", members)
+                .returns("getRatings", ratings)
+                .returns("getBlockCounts", blockCounts)
+                .returns("getBlocksLimits", blockCounts)
+                .build());
+
+        assertTrue(snapshot.serialize().length < javaSerialize(snapshot).length);
+    }
+
+    private static Fakes.Builder<Island> island(UUID owner){
+        return Fakes.of(Island.class)
+                .returns("getOwner", player(owner, 3))
+                .returns("getMissionsCompletion", new MissionsCompletion())
+                .answers("getGeneratorRates", args -> GeneratorRates.empty((World.Environment) args[0]))
+                .returns("getUpgradeLevel", Fakes.of(UpgradeLevel.class).returns("getLevel", 1).build());
+    }
+
+    private static SuperiorPlayer player(UUID uuid, int roleId){
+        PlayerRole playerRole = Fakes.of(PlayerRole.class).returns("getId", roleId).build();
+        return Fakes.of(SuperiorPlayer.class)
+                .returns("getUniqueId", uuid)
+                .returns("getPlayerRole", playerRole)
+                .build();
+    }
+
+    private static byte[] serializeWithWarp(String worldName){
+        World world = Fakes.of(World.class).returns("getName", worldName).build();
+        return IslandSnapshot.of(island(new UUID(0, 1))
+                .returns("getAllWarps", Collections.singletonList("home"))
+                .returns("getWarpLocation", new Location(world, 0, 0, 0))
+                .build()).serialize();
+    }
+
+    private static int firstDifference(byte[] first, byte[] second){
+        assertEquals(first.length, second.length);
+
+        int index = 0;
+        while(first[index] == second[index])
+            index++;
+
+        for(int i = index + 1; i < first.length; i++)
+            assertEquals("The snapshots are different in more than one field.", first[i], second[i]);
+
+        return index;
+    }
+
+    /**
+     * The same fields of the snapshot, written using java serialization.
+     */
+    private static byte[] javaSerialize(IslandSnapshot snapshot) throws IOException {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("owner", snapshot.getOwner());
+        fields.put("name", snapshot.getName());
+        fields.put("worth", snapshot.getWorth());
+        fields.put("level", snapshot.getLevel());
+        fields.put("bank", snapshot.getBank());
+        fields.put("size", snapshot.getIslandSize());
+        fields.put("members", new HashMap<>(snapshot.getMembers()));
+        Map<UUID, Integer> ratings = new HashMap<>();
+        snapshot.getRatings().forEach((uuid, rating) -> ratings.put(uuid, rating.getValue()));
+        fields.put("ratings", ratings);
+        fields.put("blockCounts", new HashMap<>(snapshot.getBlockCounts()));
+        fields.put("blockLimits", new HashMap<>(snapshot.getBlockLimits()));
+
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        try(ObjectOutputStream output = new ObjectOutputStream(data)){
+            output.writeObject(fields);
+        }
+        return data.toByteArray();
+    }
+
+    private static void registerIfAbsent(java.util.function.Consumer<String> register, String name){
+        try{
+            register.accept(name);
+        }catch(IllegalStateException ignored){}
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import com.bgsoftware.superiorskyblock.api.Fakes;
+import com.bgsoftware.superiorskyblock.api.enums.BorderColor;
+import com.bgsoftware.superiorskyblock.api.island.PlayerRole;
+import com.bgsoftware.superiorskyblock.api.missions.MissionsCompletion;
+import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public final class PlayerSnapshotTest {
+
+    @Test
+    public void snapshotRoundTrip() throws IOException {
+        UUID uuid = UUID.randomUUID();
+        PlayerSnapshot snapshot = PlayerSnapshot.deserialize(PlayerSnapshot.of(player(uuid)
+                .returns("getName", "Ome_R")
+                .returns("getUserLocale", new Locale("en", "US"))
+                .returns("getPlayerRole", Fakes.of(PlayerRole.class).returns("getId", -1).build())
+                .returns("getDisbands", 5)
+                .returns("getBorderColor", BorderColor.GREEN)
+                .returns("hasIslandFlyEnabled", true)
+                .returns("getLastTimeStatus", -1L)
+                .build()).serialize());
+
+        assertEquals(uuid, snapshot.getUniqueId());
+        // The player is the leader of its own island, so the uuid is read from the dictionary.
+        assertEquals(uuid, snapshot.getIslandLeader());
+        assertEquals("Ome_R", snapshot.getName());
+        assertNull(snapshot.getTextureValue());
+        assertEquals(new Locale("en", "US"), snapshot.getUserLocale());
+        assertEquals(-1, snapshot.getRoleId());
+        assertEquals(5, snapshot.getDisbands());
+        assertEquals(BorderColor.GREEN, snapshot.getBorderColor());
+        assertTrue(snapshot.hasIslandFlyEnabled());
+        assertFalse(snapshot.hasWorldBorderEnabled());
+        assertEquals(-1L, snapshot.getLastTimeStatus());
+        assertTrue(snapshot.getCompletedMissions().isEmpty());
+    }
+
+    @Test
+    public void nullValuesRoundTrip() throws IOException {
+        PlayerSnapshot snapshot = PlayerSnapshot.deserialize(PlayerSnapshot.of(player(UUID.randomUUID()).build()).serialize());
+
+        assertNull(snapshot.getName());
+        assertNull(snapshot.getUserLocale());
+        assertNull(snapshot.getBorderColor());
+    }
+
+    @Test
+    public void snapshotWithoutUuidIsRejected() {
+        SnapshotOutput output = new SnapshotOutput();
+        output.writeByte(0x50);
+        output.writeVarInt(1);
+        output.writeUUID(null);
+
+        try {
+            PlayerSnapshot.deserialize(output.toByteArray());
+            fail("Snapshot without a uuid was read.");
+        }catch(IOException ignored){}
+    }
+
+    private static Fakes.Builder<SuperiorPlayer> player(UUID uuid){
+        SuperiorPlayer leader = Fakes.of(SuperiorPlayer.class).returns("getUniqueId", uuid).build();
+        return Fakes.of(SuperiorPlayer.class)
+                .returns("getUniqueId", uuid)
+                .returns("getIslandLeader", leader)
+                .returns("getPlayerRole", Fakes.of(PlayerRole.class).returns("getId", 0).build())
+                .returns("getMissionsCompletion", new MissionsCompletion());
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public final class SnapshotCodecTest {
+
+    private static final int[] VAR_INTS = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+    private static final long[] VAR_LONGS = {0, 1, -1, 63, -64, 64, -65, Integer.MAX_VALUE, Integer.MIN_VALUE,
+            Long.MAX_VALUE, Long.MIN_VALUE};
+
+    @Test
+    public void varIntsRoundTrip() throws IOException {
+        SnapshotOutput output = new SnapshotOutput();
+        for(int value : VAR_INTS)
+            output.writeVarInt(value);
+
+        SnapshotInput input = new SnapshotInput(output.toByteArray());
+        for(int value : VAR_INTS)
+            assertEquals(value, input.readVarInt());
+        assertFalse(input.hasRemaining());
+    }
+
+    @Test
+    public void varIntsUseMinimalBytes() {
+        assertEquals(1, sizeOfVarInt(0));
+        assertEquals(1, sizeOfVarInt(127));
+        assertEquals(2, sizeOfVarInt(128));
+        assertEquals(5, sizeOfVarInt(Integer.MAX_VALUE));
+        assertEquals(5, sizeOfVarInt(-1));
+    }
+
+    @Test
+    public void varLongsRoundTrip() throws IOException {
+        SnapshotOutput output = new SnapshotOutput();
+        for(long value : VAR_LONGS)
+            output.writeVarLong(value);
+
+        SnapshotInput input = new SnapshotInput(output.toByteArray());
+        for(long value : VAR_LONGS)
+            assertEquals(value, input.readVarLong());
+        assertFalse(input.hasRemaining());
+    }
+
+    @Test
+    public void smallNegativeVarLongsAreZigZagEncoded() {
+        assertEquals(1, sizeOfVarLong(-1));
+        assertEquals(1, sizeOfVarLong(-64));
+        assertEquals(2, sizeOfVarLong(-65));
+        assertEquals(10, sizeOfVarLong(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void fixedValuesRoundTrip() throws IOException {
+        SnapshotOutput output = new SnapshotOutput();
+        output.writeLong(Long.MIN_VALUE);
+        output.writeLong(-1);
+        output.writeDouble(-0.5);
+        output.writeDouble(Double.NaN);
+        output.writeBoolean(true);
+        output.writeBoolean(false);
+        output.writeBigDecimal(new BigDecimal("123456789012345678901234567890.125"));
+        output.writeBigDecimal(null);
+
+        SnapshotInput input = new SnapshotInput(output.toByteArray());
+        assertEquals(Long.MIN_VALUE, input.readLong());
+        assertEquals(-1, input.readLong());
+        assertEquals(-0.5, input.readDouble(), 0);
+        assertTrue(Double.isNaN(input.readDouble()));
+        assertTrue(input.readBoolean());
+        assertFalse(input.readBoolean());
+        assertEquals(new BigDecimal("123456789012345678901234567890.125"), input.readBigDecimal());
+        assertEquals(BigDecimal.ZERO, input.readBigDecimal());
+    }
+
+    @Test
+    public void stringsRoundTrip() throws IOException {
+        SnapshotOutput output = new SnapshotOutput();
+        output.writeString(null);
+        output.writeString("");
+        output.writeString("caf\u00e9 \u2603");
+
+        SnapshotInput input = new SnapshotInput(output.toByteArray());
+        assertNull(input.readString());
+        assertEquals("", input.readString());
+        assertEquals("caf\u00e9 \u2603", input.readString());
+    }
+
+    @Test
+    public void repeatedInternedStringsAreWrittenOnce() throws IOException {
+        SnapshotOutput output = new SnapshotOutput();
+        output.writeInternedString("DIAMOND_BLOCK");
+        int firstSize = output.toByteArray().length;
+        output.writeInternedString("DIAMOND_BLOCK");
+        // The second occurrence is only the index of the string.
+        assertEquals(firstSize + 1, output.toByteArray().length);
+        output.writeInternedString("GOLD_BLOCK");
+        output.writeInternedString(null);
+        output.writeInternedString("DIAMOND_BLOCK");
+        output.writeInternedString(null);
+
+        byte[] data = output.toByteArray();
+
+        SnapshotInput input = new SnapshotInput(data);
+        String first = input.readInternedString();
+        assertEquals("DIAMOND_BLOCK", first);
+        assertSame(first, input.readInternedString());
+        assertEquals("GOLD_BLOCK", input.readInternedString());
+        assertNull(input.readInternedString());
+        assertSame(first, input.readInternedString());
+        assertNull(input.readInternedString());
+        assertFalse(input.hasRemaining());
+    }
+
+    @Test
+    public void uuidsRoundTrip() throws IOException {
+        UUID first = UUID.randomUUID(), second = new UUID(Long.MIN_VALUE, -1);
+
+        SnapshotOutput output = new SnapshotOutput();
+        output.writeUUID(null);
+        output.writeUUID(first);
+        output.writeUUID(second);
+        output.writeUUID(first);
+        output.writeUUID(null);
+        output.writeUUID(second);
+
+        byte[] data = output.toByteArray();
+        // Two full uuids (a marker and 16 bytes), two references and two nulls.
+        assertEquals(2 * 17 + 2 + 2, data.length);
+
+        SnapshotInput input = new SnapshotInput(data);
+        assertNull(input.readUUID());
+        assertEquals(first, input.readUUID());
+        assertEquals(second, input.readUUID());
+        assertEquals(first, input.readUUID());
+        assertNull(input.readUUID());
+        assertEquals(second, input.readUUID());
+        assertFalse(input.hasRemaining());
+    }
+
+    @Test
+    public void truncatedDataIsRejected() {
+        SnapshotOutput output = new SnapshotOutput();
+        output.writeString("truncated");
+        output.writeVarLong(Long.MIN_VALUE);
+        byte[] data = output.toByteArray();
+
+        for(int length = 0; length < data.length; length++){
+            byte[] truncated = new byte[length];
+            System.arraycopy(data, 0, truncated, 0, length);
+            try {
+                SnapshotInput input = new SnapshotInput(truncated);
+                input.readString();
+                input.readVarLong();
+                fail("Truncated data of " + length + " bytes was read.");
+            }catch(IOException ignored){}
+        }
+    }
+
+    @Test
+    public void unknownDictionaryReferencesAreRejected() {
+        SnapshotOutput output = new SnapshotOutput();
+        output.writeVarInt(5);
+        byte[] data = output.toByteArray();
+
+        try {
+            new SnapshotInput(data).readInternedString();
+            fail("Unknown string reference was read.");
+        }catch(IOException ignored){}
+
+        try {
+            new SnapshotInput(data).readUUID();
+            fail("Unknown uuid reference was read.");
+        }catch(IOException ignored){}
+    }
+
+    @Test
+    public void negativeReferencesAndLengthsAreRejected() {
+        SnapshotOutput output = new SnapshotOutput();
+        output.writeVarInt(-5);
+        byte[] data = output.toByteArray();
+
+        try {
+            new SnapshotInput(data).readInternedString();
+            fail("Negative string reference was read.");
+        }catch(IOException ignored){}
+
+        try {
+            new SnapshotInput(data).readUUID();
+            fail("Negative uuid reference was read.");
+        }catch(IOException ignored){}
+
+        try {
+            new SnapshotInput(data).readString();
+            fail("Negative string length was read.");
+        }catch(IOException ignored){}
+    }
+
+    @Test
+    public void outputIsDeterministic() {
+        SnapshotOutput first = new SnapshotOutput(), second = new SnapshotOutput();
+        for(SnapshotOutput output : new SnapshotOutput[] {first, second}){
+            output.writeInternedString("key");
+            output.writeVarLong(-42);
+            output.writeUUID(new UUID(1, 2));
+        }
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+    }
+
+    private static int sizeOfVarInt(int value){
+        SnapshotOutput output = new SnapshotOutput();
+        output.writeVarInt(value);
+        return output.toByteArray().length;
+    }
+
+    private static int sizeOfVarLong(long value){
+        SnapshotOutput output = new SnapshotOutput();
+        output.writeVarLong(value);
+        return output.toByteArray().length;
+    }
+
+}
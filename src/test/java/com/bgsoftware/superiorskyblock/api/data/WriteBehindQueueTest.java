@@ -0,0 +1,133 @@
+package com.bgsoftware.superiorskyblock.api.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class WriteBehindQueueTest {
+
+    @Test
+    public void failedBatchesAreRetriedAndNotDropped() throws Exception {
+        AtomicInteger failures = new AtomicInteger(8);
+        List<Map<String, Set<String>>> saved = Collections.synchronizedList(new ArrayList<>());
+        List<Set<String>> failedKeys = Collections.synchronizedList(new ArrayList<>());
+
+        WriteBehindQueue<String> queue = new WriteBehindQueue<>("test-io", 1000, changes -> {
+            if(failures.getAndDecrement() > 0)
+                throw new IllegalStateException("The database is down.");
+            saved.add(changes);
+        });
+        queue.setErrorHandler((ex, changes) -> failedKeys.add(new HashSet<>(changes.keySet())));
+
+        queue.markDirty("island", "name");
+        queue.markDirty("player", "disbands");
+
+        // More failures than the old retries limit.
+        for(int i = 0; i < 8; i++)
+            queue.flush().get(5, TimeUnit.SECONDS);
+
+        assertEquals(8, failedKeys.size());
+        assertEquals(new HashSet<>(java.util.Arrays.asList("island", "player")), failedKeys.get(7));
+        assertEquals(2, queue.getQueueSize());
+
+        queue.flush().get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, saved.size());
+        assertEquals(Collections.singleton("name"), saved.get(0).get("island"));
+        assertEquals(0, queue.getQueueSize());
+        assertTrue(queue.shutdown().isEmpty());
+    }
+
+    @Test
+    public void shutdownWaitsForRunningFlushAndSavesItsFailedChanges() throws Exception {
+        CountDownLatch flushStarted = new CountDownLatch(1), releaseFlush = new CountDownLatch(1);
+        AtomicBoolean firstFlush = new AtomicBoolean(true), concurrentFlush = new AtomicBoolean(false);
+        AtomicInteger runningFlushes = new AtomicInteger(0);
+        List<Map<String, Set<String>>> saved = Collections.synchronizedList(new ArrayList<>());
+
+        WriteBehindQueue<String> queue = new WriteBehindQueue<>("test-io", 1000, changes -> {
+            if(runningFlushes.incrementAndGet() > 1)
+                concurrentFlush.set(true);
+            try{
+                if(firstFlush.getAndSet(false)){
+                    flushStarted.countDown();
+                    releaseFlush.await();
+                    throw new IllegalStateException("The running flush has failed.");
+                }
+                saved.add(changes);
+            }catch(InterruptedException ex){
+                throw new IllegalStateException(ex);
+            }finally{
+                runningFlushes.decrementAndGet();
+            }
+        });
+        queue.setErrorHandler((ex, changes) -> {});
+
+        queue.markDirty("island", "name");
+        queue.flush();
+        assertTrue(flushStarted.await(5, TimeUnit.SECONDS));
+
+        Thread releaser = new Thread(() -> {
+            try{
+                Thread.sleep(100);
+            }catch(InterruptedException ignored){}
+            releaseFlush.countDown();
+        });
+        releaser.start();
+
+        Map<String, Set<String>> unsaved = queue.shutdown(5, TimeUnit.SECONDS);
+
+        assertTrue(unsaved.isEmpty());
+        assertFalse(concurrentFlush.get());
+        assertEquals(1, saved.size());
+        assertEquals(Collections.singleton("name"), saved.get(0).get("island"));
+    }
+
+    @Test
+    public void shutdownReturnsChangesThatCouldNotBeSaved() {
+        AtomicInteger attempts = new AtomicInteger(0);
+        WriteBehindQueue<String> queue = new WriteBehindQueue<>("test-io", 10, changes -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("The database is down.");
+        });
+        queue.setErrorHandler((ex, changes) -> {});
+
+        queue.markDirty("island", "name");
+        queue.markDirty("island", "biome");
+
+        Map<String, Set<String>> unsaved = queue.shutdown(100, TimeUnit.MILLISECONDS);
+
+        assertEquals(new HashSet<>(java.util.Arrays.asList("name", "biome")), unsaved.get("island"));
+        assertTrue(attempts.get() > 1);
+        assertEquals(0, queue.getQueueSize());
+    }
+
+    @Test
+    public void changesAfterShutdownAreSavedInstantly() throws Exception {
+        List<Map<String, Set<String>>> saved = Collections.synchronizedList(new ArrayList<>());
+        WriteBehindQueue<String> queue = new WriteBehindQueue<>("test-io", 1000, saved::add);
+
+        queue.shutdown();
+
+        queue.markDirty("island", "locked");
+        queue.flush().get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, saved.size());
+        assertEquals(Collections.singleton("locked"), saved.get(0).get("island"));
+        assertEquals(0, queue.getQueueSize());
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.bgsoftware.superiorskyblock.api.events;
+
+import com.bgsoftware.superiorskyblock.api.Fakes;
+import com.bgsoftware.superiorskyblock.api.island.Island;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class AsyncEventBusTest {
+
+    @Test
+    public void registrationsReplaceResolvedListeners(){
+        AsyncEventBus eventBus = new AsyncEventBus("test-events", 1, 16);
+        AsyncListener<IslandEvent> listener = event -> {};
+
+        assertFalse(eventBus.hasListeners(IslandWorthUpdateEvent.class));
+
+        eventBus.register(IslandEvent.class, listener);
+        assertTrue(eventBus.hasListeners(IslandWorthUpdateEvent.class));
+
+        eventBus.unregister(listener);
+        assertFalse(eventBus.hasListeners(IslandWorthUpdateEvent.class));
+
+        eventBus.shutdown(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void postedEventsAreDeliveredAndLaterEventsAreDropped(){
+        AsyncEventBus eventBus = new AsyncEventBus("test-events", 2, 1000);
+        List<IslandEvent> received = Collections.synchronizedList(new ArrayList<>());
+        eventBus.register(IslandWorthUpdateEvent.class, received::add);
+
+        for(int i = 0; i < 100; i++)
+            assertTrue(eventBus.post(event()));
+
+        eventBus.shutdown(5, TimeUnit.SECONDS);
+
+        assertEquals(100, received.size());
+        assertFalse(eventBus.post(event()));
+        assertEquals(100, received.size());
+        assertEquals(1, eventBus.getDroppedEvents());
+    }
+
+    private static IslandWorthUpdateEvent event(){
+        return new IslandWorthUpdateEvent(Fakes.of(Island.class).build(),
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.ONE);
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.bgsoftware.superiorskyblock.api.generator;
+
+import com.bgsoftware.superiorskyblock.api.key.Key;
+import org.bukkit.World;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public final class GeneratorRatesTest {
+
+    @Test
+    public void keysWithDataValuesAreReadFromTheirMaterial(){
+        GeneratorRates generatorRates = GeneratorRates.of(World.Environment.NORMAL, 1, Collections.singletonMap("WOOL", 10));
+
+        assertEquals(10, generatorRates.getAmount(Key.of("WOOL:14")));
+        assertEquals(0, generatorRates.indexOf(Key.of("WOOL:14")));
+        assertEquals(-1, generatorRates.indexOf(Key.of("STONE")));
+    }
+
+    @Test
+    public void keysWithDataValuesAreWrittenSeparately(){
+        GeneratorRates generatorRates = GeneratorRates.of(World.Environment.NORMAL, 1, Collections.singletonMap("WOOL", 10));
+
+        GeneratorRates withRedWool = generatorRates.withAmount(Key.of("WOOL:14"), 5);
+        assertEquals(2, withRedWool.size());
+        assertEquals(10, withRedWool.getAmount(Key.of("WOOL")));
+        assertEquals(5, withRedWool.getAmount(Key.of("WOOL:14")));
+        assertEquals(15, withRedWool.getTotalAmount());
+
+        // Removing a key that is not in the snapshot doesn't remove the key of its material.
+        assertSame(generatorRates, generatorRates.withAmount(Key.of("WOOL:14"), 0));
+
+        GeneratorRates withoutRedWool = withRedWool.withAmount(Key.of("WOOL:14"), 0);
+        assertEquals(Collections.singletonMap("WOOL", 10), withoutRedWool.asMap());
+        assertEquals(3, withoutRedWool.getVersion());
+    }
+
+    @Test
+    public void internedAndNewKeysAreFound(){
+        Map<String, Integer> amounts = new LinkedHashMap<>();
+        amounts.put("COBBLESTONE", 90);
+        amounts.put("DIAMOND_ORE", 10);
+        GeneratorRates generatorRates = GeneratorRates.of(World.Environment.NORMAL, 1, amounts);
+
+        assertSame(GeneratorRates.intern("DIAMOND_ORE"), generatorRates.getKey(1));
+        assertEquals(1, generatorRates.indexOf(GeneratorRates.intern("DIAMOND_ORE")));
+        assertEquals(1, generatorRates.indexOf(Key.of("DIAMOND_ORE")));
+        assertEquals(10, generatorRates.getPercentage(Key.of("DIAMOND_ORE")));
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.bgsoftware.superiorskyblock.api.generator;
+
+import com.bgsoftware.superiorskyblock.api.key.Key;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public final class GeneratorRollerTest {
+
+    @Test
+    public void rollerIsRefilledWhenTheTableChanges(){
+        AtomicReference<GeneratorTable> table = new AtomicReference<>(GeneratorTable.of(Collections.singletonMap("COBBLESTONE", 1)));
+        GeneratorRoller roller = new GeneratorRoller(table::get, 16);
+
+        Key cobblestone = GeneratorRates.intern("COBBLESTONE"), diamond = GeneratorRates.intern("DIAMOND_ORE");
+
+        for(int i = 0; i < 5; i++)
+            assertSame(cobblestone, roller.roll());
+
+        // The pre-rolled outcomes of the old table are not used.
+        table.set(GeneratorTable.of(Collections.singletonMap("DIAMOND_ORE", 1)));
+        assertSame(diamond, roller.roll());
+
+        table.set(GeneratorTable.empty());
+        assertNull(roller.roll());
+    }
+
+    @Test
+    public void rollerIsRefilledWhenTheBatchIsUsed(){
+        GeneratorTable table = GeneratorTable.of(Collections.singletonMap("STONE", 1));
+        GeneratorRoller roller = new GeneratorRoller(() -> table, 4);
+
+        for(int i = 0; i < roller.getBatchSize() * 3 + 1; i++)
+            assertSame(GeneratorRates.intern("STONE"), roller.roll());
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.bgsoftware.superiorskyblock.api.generator;
+
+import com.bgsoftware.superiorskyblock.api.key.Key;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public final class GeneratorTableTest {
+
+    @Test
+    public void samplesFollowTheAmounts(){
+        Map<String, Integer> amounts = new LinkedHashMap<>();
+        amounts.put("COBBLESTONE", 70);
+        amounts.put("IRON_ORE", 20);
+        amounts.put("GOLD_ORE", 7);
+        amounts.put("DIAMOND_ORE", 3);
+        GeneratorTable table = GeneratorTable.of(amounts);
+
+        // The random values cover the range evenly, so the counts are the exact probabilities of the table.
+        int samples = 1000000;
+        Map<Key, Integer> counts = new LinkedHashMap<>();
+        for(int i = 0; i < samples; i++)
+            counts.merge(table.sample((i + 0.5) / samples), 1, Integer::sum);
+
+        assertEquals(100, table.getTotalAmount());
+        for(Map.Entry<String, Integer> entry : amounts.entrySet()){
+            double probability = (double) counts.getOrDefault(GeneratorRates.intern(entry.getKey()), 0) / samples;
+            assertEquals(entry.getKey(), entry.getValue() / 100D, probability, 0.0001);
+        }
+    }
+
+    @Test
+    public void sampleEdgesStayInsideTheTable(){
+        Map<String, Integer> amounts = new LinkedHashMap<>();
+        amounts.put("COBBLESTONE", 1);
+        amounts.put("STONE", 2);
+        amounts.put("DIAMOND_ORE", 3);
+        GeneratorTable table = GeneratorTable.of(amounts);
+
+        assertTrue(amounts.containsKey(table.sample(0D).toString()));
+        assertTrue(amounts.containsKey(table.sample(Math.nextDown(1D)).toString()));
+        // Values outside of the range are clamped to the last column.
+        assertTrue(amounts.containsKey(table.sample(1D).toString()));
+    }
+
+    @Test
+    public void emptyAndSingleKeyTables(){
+        assertNull(GeneratorTable.of(Collections.emptyMap()).sample(0.5));
+        assertTrue(GeneratorTable.of(Collections.singletonMap("STONE", 0)).isEmpty());
+
+        GeneratorTable table = GeneratorTable.of(Collections.singletonMap("STONE", 5));
+        Key stone = GeneratorRates.intern("STONE");
+        for(double random = 0; random < 1; random += 0.01)
+            assertSame(stone, table.sample(random));
+    }
+
+    @Test
+    public void largeAmountsDoNotOverflow(){
+        Map<String, Integer> amounts = new LinkedHashMap<>();
+        amounts.put("COBBLESTONE", Integer.MAX_VALUE);
+        amounts.put("STONE", Integer.MAX_VALUE);
+        GeneratorTable table = GeneratorTable.of(amounts);
+
+        assertEquals(2L * Integer.MAX_VALUE, table.getTotalAmount());
+        assertSame(GeneratorRates.intern("COBBLESTONE"), table.sample(0.25));
+        assertSame(GeneratorRates.intern("STONE"), table.sample(0.75));
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.bgsoftware.superiorskyblock.api.island;
+
+import com.bgsoftware.superiorskyblock.api.Fakes;
+import com.bgsoftware.superiorskyblock.api.SuperiorSkyblock;
+import com.bgsoftware.superiorskyblock.api.handlers.GridManager;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public final class IslandPositionTrackerTest {
+
+    private static final World WORLD = Fakes.of(World.class).returns("getName", "SuperiorWorld").build();
+
+    private final List<Island> islands = new ArrayList<>();
+    private final AtomicInteger gridLookups = new AtomicInteger(0);
+
+    @After
+    public void clearPlugin(){
+        Fakes.setPlugin(null);
+    }
+
+    @Test
+    public void enteringIslandInsideTheSameChunkIsDetected(){
+        // The island starts at x=50, in the middle of the chunk 48..63.
+        Island island = createIsland(100, 100, 50, 30);
+        setGrid();
+
+        IslandPositionTracker tracker = new IslandPositionTracker();
+
+        assertSame(IslandPositionTracker.Transition.NONE, tracker.move(location(48, 100)));
+        assertSame(IslandPositionTracker.Transition.NONE, tracker.move(location(49, 100)));
+
+        IslandPositionTracker.Transition transition = tracker.move(location(50, 100));
+        assertTrue(transition.isIslandChanged());
+        assertSame(island, transition.getIsland());
+        assertFalse(transition.hasEnteredProtected());
+    }
+
+    @Test
+    public void movesInsideChunksWithoutIslandsAreResolvedFromCache(){
+        createIsland(100, 100, 50, 30);
+        setGrid();
+
+        IslandPositionTracker tracker = new IslandPositionTracker();
+
+        for(int x = 0; x < 16; x++)
+            tracker.move(location(x, 0));
+
+        assertEquals(1, gridLookups.get());
+    }
+
+    @Test
+    public void trackerMatchesTheGrid(){
+        createIslandsGrid();
+        setGrid();
+
+        Random random = new Random(1);
+
+        for(Walker walker : createWalkers(random, 50)){
+            for(int i = 0; i < 2000; i++){
+                Location location = walker.step(random);
+                walker.tracker.move(location);
+
+                Island expected = findIsland(location.getBlockX(), location.getBlockZ());
+                assertSame(expected, walker.tracker.getIsland());
+                assertEquals(expected != null && expected.getProtectedBounds().contains(location.getBlockX(), location.getBlockZ()),
+                        walker.tracker.isInsideProtected());
+            }
+        }
+    }
+
+    @Test
+    public void gridIsQueriedOnlyWhenLeavingTheCachedArea(){
+        // The island covers the blocks -25..25, and its protected area covers the blocks -10..10.
+        Island island = createIsland(0, 0, 25, 10);
+        setGrid();
+
+        IslandPositionTracker tracker = new IslandPositionTracker();
+        List<IslandPositionTracker.Transition> transitions = new ArrayList<>();
+
+        // Walking from x=-40 to x=40 crosses the island.
+        for(int x = -40; x <= 40; x++){
+            IslandPositionTracker.Transition transition = tracker.move(location(x + 0.5, 5));
+            if(transition != IslandPositionTracker.Transition.NONE)
+                transitions.add(transition);
+        }
+
+        assertEquals(4, transitions.size());
+        assertSame(island, transitions.get(0).getIsland());
+        assertTrue(transitions.get(1).hasEnteredProtected());
+        assertTrue(transitions.get(2).hasLeftProtected());
+        assertTrue(transitions.get(3).isIslandChanged());
+        assertSame(island, transitions.get(3).getPreviousIsland());
+
+        // The grid is queried when entering the chunks -48..-33 and -32..-17, when entering the island at x=-25,
+        // when leaving it at x=26 and when entering the chunk 32..47. Moves inside the island use its bounds.
+        assertEquals(5, gridLookups.get());
+    }
+
+    private Island createIsland(int centerX, int centerZ, int radius, int protectedRadius){
+        IslandBounds bounds = IslandBounds.around(centerX, centerZ, radius);
+        IslandBounds protectedBounds = IslandBounds.around(centerX, centerZ, protectedRadius);
+        Island island = Fakes.of(Island.class)
+                .returns("getBounds", bounds)
+                .returns("getProtectedBounds", protectedBounds)
+                .build();
+        islands.add(island);
+        return island;
+    }
+
+    private void createIslandsGrid(){
+        // Centers are not aligned to chunks, so islands start and end in the middle of chunks.
+        for(int x = 0; x < 10; x++){
+            for(int z = 0; z < 10; z++)
+                createIsland(x * 200 + 7, z * 200 - 3, 75, 50);
+        }
+    }
+
+    private void setGrid(){
+        GridManager grid = Fakes.of(GridManager.class)
+                .answers("getIslandAt", args -> {
+                    gridLookups.incrementAndGet();
+                    Location location = (Location) args[0];
+                    return findIsland(location.getBlockX(), location.getBlockZ());
+                })
+                .answers("getIslandsAt", args -> {
+                    List<Island> chunkIslands = new ArrayList<>();
+                    for(Island island : islands){
+                        if(island.getBounds().containsChunk((int) args[1], (int) args[2]))
+                            chunkIslands.add(island);
+                    }
+                    return chunkIslands;
+                })
+                .build();
+
+        Fakes.setPlugin(Fakes.of(SuperiorSkyblock.class).returns("getGrid", grid).build());
+    }
+
+    private Island findIsland(int blockX, int blockZ){
+        for(Island island : islands){
+            if(island.getBounds().contains(blockX, blockZ))
+                return island;
+        }
+
+        return null;
+    }
+
+    private static List<Walker> createWalkers(Random random, int amount){
+        List<Walker> walkers = new ArrayList<>();
+        for(int i = 0; i < amount; i++)
+            walkers.add(new Walker(random.nextDouble() * 2000 - 100, random.nextDouble() * 2000 - 100));
+        return walkers;
+    }
+
+    private static Location location(double x, double z){
+        return new Location(WORLD, x, 64, z);
+    }
+
+    private static final class Walker {
+
+        private final IslandPositionTracker tracker = new IslandPositionTracker();
+        private double x, z, directionX, directionZ;
+
+        Walker(double x, double z){
+            this.x = x;
+            this.z = z;
+        }
+
+        Location step(Random random){
+            // Players walk about 4 blocks per second, and move events are called every tick.
+            if(random.nextInt(40) == 0 || (directionX == 0 && directionZ == 0)){
+                double angle = random.nextDouble() * Math.PI * 2;
+                directionX = Math.cos(angle) * 0.2;
+                directionZ = Math.sin(angle) * 0.2;
+            }
+
+            x += directionX;
+            z += directionZ;
+
+            return location(x, z);
+        }
+
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.bgsoftware.superiorskyblock.api.missions;
+
+import com.bgsoftware.superiorskyblock.api.wrappers.SuperiorPlayer;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public final class MissionsCompletionTest {
+
+    @Test
+    public void completionsFollowRecompiledIndexes() throws MissionLoadException {
+        Mission first = mission("first"), second = mission("second"), third = mission("third");
+        MissionsGraph.compile(Arrays.asList(first, second, third));
+
+        MissionsCompletion missionsCompletion = new MissionsCompletion();
+        missionsCompletion.setAmount(second, 2);
+        missionsCompletion.complete(third);
+
+        // The order of the missions is changed, and the first mission is removed.
+        MissionsGraph.compile(Arrays.asList(third, second));
+
+        assertEquals(0, third.getIndex());
+        assertEquals(2, missionsCompletion.getAmount(second));
+        assertEquals(1, missionsCompletion.getAmount(third));
+        assertFalse(missionsCompletion.isCompleted(first));
+        assertEquals(2, missionsCompletion.getCompletedAmount());
+    }
+
+    @Test
+    public void reloadedMissionsAreMatchedByName() throws MissionLoadException {
+        Mission oldMission = mission("mission"), other = mission("other");
+        MissionsGraph.compile(Arrays.asList(other, oldMission));
+
+        MissionsCompletion missionsCompletion = new MissionsCompletion();
+        missionsCompletion.complete(oldMission);
+
+        Mission newMission = mission("mission");
+        MissionsGraph missionsGraph = MissionsGraph.compile(Arrays.asList(newMission, mission("other")));
+
+        assertTrue(missionsCompletion.isCompleted(newMission));
+        // Instances from the old graph are resolved by their names.
+        assertTrue(missionsCompletion.isCompleted(oldMission));
+        assertFalse(missionsCompletion.isCompleted(other));
+
+        List<Mission> completed = new ArrayList<>();
+        missionsCompletion.forEachCompleted(completed::add);
+        assertEquals(1, completed.size());
+        assertSame(missionsGraph.getMission(0), completed.get(0));
+    }
+
+    @Test
+    public void requiredMissionsUseTheNewIndexes() throws MissionLoadException {
+        Mission required = mission("required"), dependent = mission("dependent");
+        dependent.addRequiredMission("required");
+        MissionsGraph.compile(Arrays.asList(required, dependent));
+
+        MissionsCompletion missionsCompletion = new MissionsCompletion();
+        missionsCompletion.complete(required);
+
+        MissionsGraph missionsGraph = MissionsGraph.compile(Arrays.asList(dependent, mission("extra"), required));
+
+        assertTrue(missionsCompletion.hasAllRequiredMissions(missionsGraph, dependent));
+    }
+
+    private static Mission mission(String name){
+        Mission mission = new Mission() {
+            @Override
+            public void load(JavaPlugin plugin, ConfigurationSection missionSection) {
+
+            }
+
+            @Override
+            public double getProgress(SuperiorPlayer superiorPlayer) {
+                return 0;
+            }
+
+            @Override
+            public void onComplete(SuperiorPlayer superiorPlayer) {
+
+            }
+
+            @Override
+            public void onCompleteFail(SuperiorPlayer superiorPlayer) {
+
+            }
+        };
+        mission.setName(name);
+        return mission;
+    }
+
+}
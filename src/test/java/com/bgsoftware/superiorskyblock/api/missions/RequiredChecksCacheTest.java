@@ -0,0 +1,92 @@
+package com.bgsoftware.superiorskyblock.api.missions;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class RequiredChecksCacheTest {
+
+    private static final Function<RequiredCheck, Boolean> NO_FALLBACK = check -> {
+        throw new AssertionError("The check " + check + " was evaluated the legacy way.");
+    };
+
+    @Test
+    public void onlyChecksWithInvalidationSourcesAreCached(){
+        RequiredChecksCache cache = new RequiredChecksCache();
+        cache.registerInvalidationSource("vault_eco");
+
+        UUID uuid = UUID.randomUUID();
+        Map<String, String> values = new HashMap<>();
+        values.put("vault_eco_balance", "50");
+        values.put("player_level", "5");
+
+        RequiredCheck balanceCheck = RequiredCheck.compile("%vault_eco_balance% >= 100");
+        RequiredCheck levelCheck = RequiredCheck.compile("%player_level% >= 10");
+
+        assertFalse(cache.test(uuid, balanceCheck, values::get, NO_FALLBACK));
+        assertFalse(cache.test(uuid, levelCheck, values::get, NO_FALLBACK));
+
+        values.put("vault_eco_balance", "150");
+        values.put("player_level", "15");
+
+        // The balance was not invalidated, so the cached result is used.
+        assertFalse(cache.test(uuid, balanceCheck, values::get, NO_FALLBACK));
+        assertTrue(cache.test(uuid, levelCheck, values::get, NO_FALLBACK));
+
+        cache.invalidate(uuid, "vault_eco");
+        assertTrue(cache.test(uuid, balanceCheck, values::get, NO_FALLBACK));
+    }
+
+    @Test
+    public void unloadedPlayersAreCleared(){
+        RequiredChecksCache cache = new RequiredChecksCache();
+        cache.registerInvalidationSource("vault_eco");
+
+        UUID uuid = UUID.randomUUID();
+        Map<String, String> values = new HashMap<>();
+        values.put("vault_eco_balance", "50");
+
+        RequiredCheck check = RequiredCheck.compile("%vault_eco_balance% >= 100");
+        assertFalse(cache.test(uuid, check, values::get, NO_FALLBACK));
+
+        values.put("vault_eco_balance", "150");
+        cache.invalidate(uuid);
+
+        assertTrue(cache.test(uuid, check, values::get, NO_FALLBACK));
+    }
+
+    @Test
+    public void unsupportedValuesUseTheLegacyPath(){
+        RequiredChecksCache cache = new RequiredChecksCache();
+        AtomicInteger fallbacks = new AtomicInteger(0);
+        Function<RequiredCheck, Boolean> fallback = check -> {
+            fallbacks.incrementAndGet();
+            return true;
+        };
+
+        UUID uuid = UUID.randomUUID();
+        Map<String, String> values = new HashMap<>();
+        values.put("flag", "1");
+        values.put("rank", "vip");
+
+        assertTrue(cache.test(uuid, RequiredCheck.compile("%flag%"), values::get, fallback));
+        assertTrue(cache.test(uuid, RequiredCheck.compile("'%rank%' > 'admin'"), values::get, fallback));
+        assertEquals(2, fallbacks.get());
+
+        values.put("flag", "false");
+        assertFalse(cache.test(uuid, RequiredCheck.compile("%flag%"), values::get, fallback));
+        assertEquals(2, fallbacks.get());
+
+        assertFalse(RequiredCheck.compile("1").isCompiled());
+        assertTrue(RequiredCheck.compile("true && %flag% == 'false'").isCompiled());
+    }
+
+}